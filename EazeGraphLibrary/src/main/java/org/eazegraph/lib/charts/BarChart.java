@@ -26,12 +26,16 @@ import android.util.AttributeSet;
 import android.view.MotionEvent;
 
 import org.eazegraph.lib.R;
+import org.eazegraph.lib.communication.IBarDataAdapter;
 import org.eazegraph.lib.models.BarModel;
 import org.eazegraph.lib.models.BaseModel;
 import org.eazegraph.lib.models.StackedBarModel;
+import org.eazegraph.lib.utils.PagedBarList;
 import org.eazegraph.lib.utils.Utils;
+import org.eazegraph.lib.utils.ValueLabelCache;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -48,6 +52,10 @@ public class BarChart extends BaseBarChart {
     public BarChart(Context context) {
         super(context);
 
+        mUseBucketing      = DEF_USE_BUCKETING;
+        mBucketAggregation = DEF_BUCKET_AGGREGATION;
+        mMinBarWidth       = Utils.dpToPx(DEF_MIN_BAR_WIDTH);
+
         initializeGraph();
     }
 
@@ -78,6 +86,10 @@ public class BarChart extends BaseBarChart {
 
         try {
 
+            mUseBucketing      = a.getBoolean(R.styleable.BarChart_egUseBucketing,       DEF_USE_BUCKETING);
+            mBucketAggregation = a.getInt(R.styleable.BarChart_egBucketAggregation,      DEF_BUCKET_AGGREGATION);
+            mMinBarWidth       = a.getDimension(R.styleable.BarChart_egMinBarWidth,      Utils.dpToPx(DEF_MIN_BAR_WIDTH));
+
         } finally {
             // release the TypedArray so that it can be reused.
             a.recycle();
@@ -104,6 +116,28 @@ public class BarChart extends BaseBarChart {
         onDataChanged();
     }
 
+    /**
+     * Appends all {@link org.eazegraph.lib.models.BarModel}s of the collection to the BarChart. The
+     * chart is recalculated only once for the whole collection.
+     * @param _Bars The bars which will be added to the chart.
+     */
+    public void addBars(Collection<? extends BarModel> _Bars) {
+        mData.addAll(_Bars);
+        onDataChanged();
+    }
+
+    /**
+     * Sets new values for all bars and animates the bars whose bounds change from their old to their
+     * new bounds, instead of replaying the reveal animation.
+     * @param _Values The new values, one for every bar in the order of {@link #getData()}.
+     */
+    public void animateValues(float[] _Values) {
+        if (mPagedBars.getAdapter() != null) {
+            throw new IllegalStateException("The values of an adapter can not be animated");
+        }
+        startValueTransition(mData, _Values);
+    }
+
     /**
      * Returns the data which is currently present in the chart.
      * @return The currently used data.
@@ -119,6 +153,166 @@ public class BarChart extends BaseBarChart {
     @Override
     public void clearChart() {
         mData.clear();
+        mPagedBars.setAdapter(null);
+        mDisplayedBars = mData;
+        mBucketSize = 1;
+        resetRange();
+    }
+
+    /**
+     * Sets an adapter, which provides the bars on demand instead of the data of the chart. Only the
+     * visible bars and the prefetched bars around them are bound, so the bars of a large data
+     * source don't have to be held in memory. The maximum value of the adapter is used to scale the
+     * bars. While an adapter is set, bucketing is not used and the values can't be animated.
+     * @param _Adapter The adapter, or null to show the data of the chart again.
+     */
+    public void setAdapter(IBarDataAdapter _Adapter) {
+        mPagedBars.setAdapter(_Adapter);
+        resetRange();
+        onDataChanged();
+    }
+
+    /**
+     * Returns the adapter, which provides the bars.
+     * @return The adapter or null.
+     */
+    public IBarDataAdapter getAdapter() {
+        return mPagedBars.getAdapter();
+    }
+
+    /**
+     * Rebinds the bars of the adapter. Should be called after the data of the adapter changed.
+     */
+    public void notifyDataSetChanged() {
+        mPagedBars.refresh();
+        onDataChanged();
+    }
+
+    /**
+     * Returns the amount of bars, which are bound in front of and behind the visible bars.
+     * @return Amount of bars.
+     */
+    public int getPrefetchBars() {
+        return mPrefetchBars;
+    }
+
+    /**
+     * Sets the amount of bars, which are bound in front of and behind the visible bars, if an
+     * adapter is used.
+     * @param _prefetchBars Amount of bars.
+     */
+    public void setPrefetchBars(int _prefetchBars) {
+        mPrefetchBars = _prefetchBars;
+        invalidateLayout(DIRTY_SIZE);
+    }
+
+    /**
+     * Checks if adjacent bars are merged into buckets, when they would be narrower than the minimum
+     * bar width.
+     * @return True if bucketing is used.
+     */
+    public boolean isUseBucketing() {
+        return mUseBucketing;
+    }
+
+    /**
+     * Sets if adjacent bars are merged into buckets, when they would be narrower than the minimum
+     * bar width. Only used if the bar width is calculated dynamically. Layout and drawing then
+     * depend on the width of the chart instead of the amount of bars.
+     * @param _useBucketing True if bucketing should be used.
+     */
+    public void setUseBucketing(boolean _useBucketing) {
+        mUseBucketing = _useBucketing;
+        invalidateLayout(DIRTY_DATA);
+    }
+
+    /**
+     * Returns how the values of the bars in a bucket are combined.
+     * @return One of {@link #AGGREGATION_SUM}, {@link #AGGREGATION_MEAN} or {@link #AGGREGATION_MAX}.
+     */
+    public int getBucketAggregation() {
+        return mBucketAggregation;
+    }
+
+    /**
+     * Sets how the values of the bars in a bucket are combined.
+     * @param _bucketAggregation One of {@link #AGGREGATION_SUM}, {@link #AGGREGATION_MEAN} or
+     *                           {@link #AGGREGATION_MAX}.
+     */
+    public void setBucketAggregation(int _bucketAggregation) {
+        mBucketAggregation = _bucketAggregation;
+        invalidateLayout(DIRTY_DATA);
+    }
+
+    /**
+     * Returns the minimum width of a bar, below which the bars are merged into buckets.
+     * @return Minimum width in px.
+     */
+    public float getMinBarWidth() {
+        return mMinBarWidth;
+    }
+
+    /**
+     * Sets the minimum width of a bar, below which the bars are merged into buckets.
+     * @param _minBarWidth Minimum width in px.
+     */
+    public void setMinBarWidth(float _minBarWidth) {
+        mMinBarWidth = _minBarWidth;
+        invalidateLayout(DIRTY_DATA);
+    }
+
+    /**
+     * Checks if the shown bars are buckets, which merge several bars of the data.
+     * @return True if the bars are merged.
+     */
+    public boolean isBucketed() {
+        return mBucketSize > 1;
+    }
+
+    /**
+     * Expands the bucket at the given position, so that only the bars of this bucket are shown. If
+     * the bucket still holds too many bars, they are merged into smaller buckets again.
+     * @param _Position Position of the bucket in the shown bars.
+     * @return True if the bucket was expanded, false if the bar at the position is not a bucket.
+     */
+    public boolean drillDown(int _Position) {
+        if (mBucketSize <= 1 || _Position < 0 || _Position >= mDisplayedBars.size()) {
+            return false;
+        }
+
+        mDrillDownStack.add(new int[] { mRangeStart, mRangeEnd });
+
+        int rangeEnd = mRangeEnd < 0 ? mData.size() : mRangeEnd;
+        mRangeStart  = mRangeStart + _Position * mBucketSize;
+        mRangeEnd    = Math.min(rangeEnd, mRangeStart + mBucketSize);
+
+        onDataChanged();
+        return true;
+    }
+
+    /**
+     * Returns to the bars which were shown before the last {@link #drillDown(int)}.
+     * @return True if the chart was drilled down before.
+     */
+    public boolean drillUp() {
+        if (mDrillDownStack.isEmpty()) {
+            return false;
+        }
+
+        int[] range = mDrillDownStack.remove(mDrillDownStack.size() - 1);
+        mRangeStart = range[0];
+        mRangeEnd   = range[1];
+
+        onDataChanged();
+        return true;
+    }
+
+    /**
+     * Checks if only a part of the data is shown, after a bucket was expanded.
+     * @return True if the chart is drilled down.
+     */
+    public boolean isDrilledDown() {
+        return !mDrillDownStack.isEmpty();
     }
 
     @Override
@@ -139,6 +333,7 @@ public class BarChart extends BaseBarChart {
     protected void initializeGraph() {
         super.initializeGraph();
         mData = new ArrayList<>();
+        mDisplayedBars = mData;
 
         mValuePaint = new Paint(mLegendPaint);
         mValuePaint.setTextAlign(Paint.Align.CENTER);
@@ -163,10 +358,102 @@ public class BarChart extends BaseBarChart {
      */
     @Override
     protected void onDataChanged() {
-        calculateBarPositions(mData.size());
+        if (deferDataChanged()) {
+            return;
+        }
+        updateDisplayedBars();
+        calculateBarPositions(mDisplayedBars.size());
         super.onDataChanged();
     }
 
+    /**
+     * Chooses the bars which are shown. If bucketing is used and the bars of the current range would
+     * be narrower than the minimum bar width, adjacent bars are merged into buckets, so that at most
+     * as many bars as fit on the screen are shown. The bucket models are reused.
+     */
+    private void updateDisplayedBars() {
+        int size = mData.size();
+
+        if (mPagedBars.getAdapter() != null) {
+            mBucketSize    = 1;
+            mDisplayedBars = mPagedBars;
+            return;
+        }
+
+        // the drilled down range might have been removed from the data
+        if (mRangeStart >= size) {
+            resetRange();
+        }
+
+        int rangeEnd  = mRangeEnd < 0 ? size : Math.min(mRangeEnd, size);
+        int rangeSize = rangeEnd - mRangeStart;
+        int maxBars   = mAvailableScreenSize > 0
+                ? Math.max(1, (int) (mAvailableScreenSize / (mMinBarWidth + mBarMargin)))
+                : rangeSize;
+
+        if (!mUseBucketing || mFixedBarWidth || rangeSize <= maxBars) {
+            mBucketSize = 1;
+
+            if (mRangeStart == 0 && rangeEnd == size) {
+                mDisplayedBars = mData;
+            } else {
+                // the range is copied, so the shown bars stay valid while the data is modified
+                mRangeBars.clear();
+                mRangeBars.addAll(mData.subList(mRangeStart, rangeEnd));
+                mDisplayedBars = mRangeBars;
+            }
+            return;
+        }
+
+        mBucketSize = (rangeSize + maxBars - 1) / maxBars;
+        int bucketCount = (rangeSize + mBucketSize - 1) / mBucketSize;
+
+        while (mBuckets.size() > bucketCount) {
+            mBuckets.remove(mBuckets.size() - 1);
+        }
+        while (mBuckets.size() < bucketCount) {
+            mBuckets.add(new BarModel(0.f));
+        }
+
+        for (int i = 0; i < bucketCount; i++) {
+            int from = mRangeStart + i * mBucketSize;
+            int to   = Math.min(rangeEnd, from + mBucketSize);
+
+            BarModel first = mData.get(from);
+            float    value = mBucketAggregation == AGGREGATION_MAX ? first.getValue() : 0.f;
+
+            for (int j = from; j < to; j++) {
+                float barValue = mData.get(j).getValue();
+                if (mBucketAggregation == AGGREGATION_MAX) {
+                    value = Math.max(value, barValue);
+                } else {
+                    value += barValue;
+                }
+            }
+
+            if (mBucketAggregation == AGGREGATION_MEAN) {
+                value /= to - from;
+            }
+
+            // a bucket is labeled and colored like its first bar
+            BarModel bucket = mBuckets.get(i);
+            bucket.setValue(value);
+            bucket.setColor(first.getColor());
+            bucket.setLegendLabel(first.getLegendLabel());
+        }
+
+        mDisplayedBars = mBuckets;
+    }
+
+    /**
+     * Shows the whole data again and forgets the drilled down ranges.
+     */
+    private void resetRange() {
+        mDrillDownStack.clear();
+        mRangeStart = 0;
+        mRangeEnd   = -1;
+    }
+
     /**
      * Calculates the bar boundaries based on the bar width and bar margin.
      * @param _Width    Calculated bar width
@@ -174,27 +461,82 @@ public class BarChart extends BaseBarChart {
      */
     protected void calculateBounds(float _Width, float _Margin) {
         float maxValue = 0;
-        int   last     = 0;
+        float last     = 0;
+
+        int valuePadding = mShowValues ? (int) mValuePaint.getTextSize() + mValueDistance : 0;
 
-        for (BarModel model : mData) {
+        // the bars of an adapter are laid out when they are bound
+        if (mPagedBars.getAdapter() != null) {
+            mPagedWidth            = _Width;
+            mPagedMargin           = _Margin;
+            mPagedHeightMultiplier = (mGraphHeight - valuePadding) / mPagedBars.getAdapter().getMaxValue();
+
+            mPagedBars.invalidate();
+            bindVisibleBars();
+            return;
+        }
+
+        for (BarModel model : mDisplayedBars) {
             if(model.getValue() > maxValue) {
                 maxValue = model.getValue();
             }
         }
 
-        int valuePadding = mShowValues ? (int) mValuePaint.getTextSize() + mValueDistance : 0;
-
         float heightMultiplier = (mGraphHeight - valuePadding) / maxValue;
 
-        for (BarModel model : mData) {
+        for (BarModel model : mDisplayedBars) {
             float height = model.getValue() * heightMultiplier;
             last += _Margin / 2;
             model.setBarBounds(new RectF(last, mGraphHeight - height, last + _Width, mGraphHeight));
             model.setLegendBounds(new RectF(last, 0, last + _Width, mLegendHeight));
             last += _Width + (_Margin / 2);
         }
+    }
+
+    /**
+     * Binds the bars of the adapter, which are visible or within the prefetch distance. Nothing is
+     * bound before the chart was laid out, as the visible bars are not known yet.
+     */
+    private void bindVisibleBars() {
+        if (mBarSpacing <= 0) {
+            return;
+        }
+
+        int first = getFirstVisibleBar() - mPrefetchBars;
+        int last  = getLastVisibleBar(mPagedBars.size()) + mPrefetchBars;
+
+        if (mPagedBars.bindWindow(first, last) > 0) {
+            // the recycled models lost the positions of their legend labels
+            mLegendLayout.invalidatePositions();
+        }
+    }
+
+    /**
+     * Calculates the bounds of a bar of the adapter, after it was bound.
+     * @param _Position Position of the bar.
+     * @param _Bar      The bound model.
+     */
+    private void layoutPagedBar(int _Position, BarModel _Bar) {
+        float left   = _Position * (mPagedWidth + mPagedMargin) + mPagedMargin / 2;
+        float height = _Bar.getValue() * mPagedHeightMultiplier;
+
+        // the bounds of the recycled models are reused
+        if (_Bar.getBarBounds() == null) {
+            _Bar.setBarBounds(new RectF());
+        }
+        if (_Bar.getLegendBounds() == null) {
+            _Bar.setLegendBounds(new RectF());
+        }
 
-        Utils.calculateLegendInformation(mData, 0, mContentRect.width(), mLegendPaint);
+        _Bar.getBarBounds().set(left, mGraphHeight - height, left + mPagedWidth, mGraphHeight);
+        _Bar.getLegendBounds().set(left, 0, left + mPagedWidth, mLegendHeight);
+    }
+
+    @Override
+    protected void onViewportChanged() {
+        if (mPagedBars.getAdapter() != null) {
+            bindVisibleBars();
+        }
     }
 
     /**
@@ -202,19 +544,44 @@ public class BarChart extends BaseBarChart {
      * @param _Canvas The canvas object of the graph view.
      */
     protected void drawBars(Canvas _Canvas) {
+        int first = getFirstVisibleBar();
+        int last  = getLastVisibleBar(mDisplayedBars.size());
+
+        if (!mBarBatch.isValid(first, last)) {
+            mBarBatch.begin(first, last, mCalculatedBarWidth);
+            for (int i = first; i <= last; i++) {
+                if (isInTransition(i)) {
+                    continue;
+                }
+                BarModel model = mDisplayedBars.get(i);
+                RectF bounds = model.getBarBounds();
+                mBarBatch.addColumn(model.getColor(), bounds.centerX(), bounds.top, bounds.bottom);
+            }
+        }
 
-        for (BarModel model : mData) {
-            RectF bounds = model.getBarBounds();
-            mGraphPaint.setColor(model.getColor());
-
-            _Canvas.drawRect(
-                    bounds.left,
-                    bounds.bottom - (bounds.height() * mRevealValue),
-                    bounds.right,
-                    bounds.bottom, mGraphPaint);
-
-            if (mShowValues) {
-                _Canvas.drawText(Utils.getFloatString(model.getValue(), mShowDecimal), model.getLegendBounds().centerX(),
+        // the bars grow from the bottom of the graph while they are revealed
+        _Canvas.save();
+        _Canvas.scale(1, mRevealValue, 0, mGraphHeight);
+        mBarBatch.draw(_Canvas, mGraphPaint);
+        drawTransitionBars(_Canvas, mDisplayedBars, first, last);
+        _Canvas.restore();
+
+        if (mShowValues) {
+            mValueLabels.setFormat(mShowDecimal, null);
+
+            for (int i = first; i <= last; i++) {
+                BarModel model = mDisplayedBars.get(i);
+                RectF bounds = model.getBarBounds();
+
+                if (isInTransition(i)) {
+                    interpolateTransition(i, bounds, mTransitionBounds);
+                    bounds = mTransitionBounds;
+                }
+
+                // the labels of an adapter are cached per recycled model
+                int label  = mPagedBars.getAdapter() != null ? mPagedBars.getSlot(i) : i;
+                int length = mValueLabels.getLabel(label, model.getValue());
+                _Canvas.drawText(mValueLabels.getChars(label), 0, length, model.getLegendBounds().centerX(),
                         bounds.bottom - (bounds.height() * mRevealValue) - mValueDistance, mValuePaint);
             }
         }
@@ -226,13 +593,33 @@ public class BarChart extends BaseBarChart {
      */
     @Override
     protected List<? extends BaseModel> getLegendData() {
-        return mData;
+        return mDisplayedBars;
+    }
+
+    @Override
+    protected int getSegmentAt(int _Index, float _X, float _Y) {
+        return Utils.intersectsPointWithRectF(mDisplayedBars.get(_Index).getBarBounds(), _X, _Y) ? 0 : -1;
+    }
+
+    @Override
+    protected boolean onBarTapped(int _Index) {
+        return drillDown(_Index);
+    }
+
+    @Override
+    protected boolean handlesBarTaps() {
+        return isBucketed();
+    }
+
+    @Override
+    protected int getDataIndex(int _Index) {
+        return mRangeStart + _Index * mBucketSize;
     }
 
     @Override
     protected List<RectF> getBarBounds() {
         ArrayList<RectF> bounds = new ArrayList<RectF>();
-        for (BarModel model : mData) {
+        for (BarModel model : mDisplayedBars) {
             bounds.add(model.getBarBounds());
         }
         return bounds;
@@ -244,8 +631,63 @@ public class BarChart extends BaseBarChart {
 
     private static final String LOG_TAG = BarChart.class.getSimpleName();
 
+    /**
+     * Values for {@link #setBucketAggregation(int)}: the value of a bucket is the sum, the mean or
+     * the maximum of the values of its bars.
+     */
+    public static final int     AGGREGATION_SUM         = 0;
+    public static final int     AGGREGATION_MEAN        = 1;
+    public static final int     AGGREGATION_MAX         = 2;
+
+    // All float values are dp values and will be converted into px values in the constructor
+    public static final boolean DEF_USE_BUCKETING       = false;
+    public static final int     DEF_BUCKET_AGGREGATION  = AGGREGATION_SUM;
+    public static final float   DEF_MIN_BAR_WIDTH       = 2.f;
+    public static final int     DEF_PREFETCH_BARS       = 10;
+
     private List<BarModel>  mData;
 
+    /**
+     * The bars which are shown: the data, a drilled down part of it or the buckets.
+     */
+    private List<BarModel>  mDisplayedBars;
+
+    private boolean         mUseBucketing;
+    private int             mBucketAggregation;
+    private float           mMinBarWidth;
+
+    /**
+     * The amount of bars which are merged into one shown bar.
+     */
+    private int             mBucketSize = 1;
+    private final List<BarModel> mBuckets = new ArrayList<BarModel>();
+    private final List<BarModel> mRangeBars = new ArrayList<BarModel>();
+
+    /**
+     * The range of the data which is shown, the end is -1 for the whole data. The ranges before
+     * each drill down are kept to return to them.
+     */
+    private int             mRangeStart = 0;
+    private int             mRangeEnd   = -1;
+    private final List<int[]> mDrillDownStack = new ArrayList<int[]>();
+
+    /**
+     * The bars of the adapter and the layout, with which they are laid out when they are bound.
+     */
+    private final PagedBarList mPagedBars = new PagedBarList() {
+        @Override
+        protected void onBarBound(int _Position, BarModel _Bar) {
+            layoutPagedBar(_Position, _Bar);
+        }
+    };
+    private int             mPrefetchBars = DEF_PREFETCH_BARS;
+    private float           mPagedWidth;
+    private float           mPagedMargin;
+    private float           mPagedHeightMultiplier;
+
     private Paint           mValuePaint;
     private int             mValueDistance = (int) Utils.dpToPx(3);
+
+    private final ValueLabelCache mValueLabels = new ValueLabelCache();
+    private final RectF     mTransitionBounds = new RectF();
 }
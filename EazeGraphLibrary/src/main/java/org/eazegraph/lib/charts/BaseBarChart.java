@@ -32,13 +32,19 @@ import android.widget.OverScroller;
 import android.widget.Scroller;
 
 import com.nineoldandroids.animation.Animator;
+import com.nineoldandroids.animation.AnimatorListenerAdapter;
 import com.nineoldandroids.animation.ValueAnimator;
 
 import org.eazegraph.lib.R;
 import org.eazegraph.lib.communication.IOnBarClickedListener;
+import org.eazegraph.lib.communication.IOnBarSegmentClickedListener;
+import org.eazegraph.lib.models.BarModel;
 import org.eazegraph.lib.models.BaseModel;
+import org.eazegraph.lib.utils.BarBatch;
+import org.eazegraph.lib.utils.LegendLayout;
 import org.eazegraph.lib.utils.Utils;
 
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -120,6 +126,23 @@ public abstract class BaseBarChart extends BaseChart {
         mListener = _listener;
     }
 
+    /**
+     * Returns the onBarSegmentClickedListener.
+     * @return The listener or null.
+     */
+    public IOnBarSegmentClickedListener getOnBarSegmentClickedListener() {
+        return mSegmentListener;
+    }
+
+    /**
+     * Sets the onBarSegmentClickedListener, which is notified about the clicked bar and the clicked
+     * segment of a stacked bar.
+     * @param _listener The listener which will be set.
+     */
+    public void setOnBarSegmentClickedListener(IOnBarSegmentClickedListener _listener) {
+        mSegmentListener = _listener;
+    }
+
     /**
      * Returns the width of a bar.
      * @return
@@ -134,7 +157,7 @@ public abstract class BaseBarChart extends BaseChart {
      */
     public void setBarWidth(float _barWidth) {
         mBarWidth = _barWidth;
-        onDataChanged();
+        invalidateLayout(DIRTY_SIZE);
     }
 
     /**
@@ -151,7 +174,7 @@ public abstract class BaseBarChart extends BaseChart {
      */
     public void setFixedBarWidth(boolean _fixedBarWidth) {
         mFixedBarWidth = _fixedBarWidth;
-        onDataChanged();
+        invalidateLayout(DIRTY_SIZE);
     }
 
     /**
@@ -168,7 +191,7 @@ public abstract class BaseBarChart extends BaseChart {
      */
     public void setBarMargin(float _barMargin) {
         mBarMargin = _barMargin;
-        onDataChanged();
+        invalidateLayout(DIRTY_SIZE);
     }
 
     public boolean isScrollEnabled() {
@@ -177,7 +200,7 @@ public abstract class BaseBarChart extends BaseChart {
 
     public void setScrollEnabled(boolean _scrollEnabled) {
         mScrollEnabled = _scrollEnabled;
-        onDataChanged();
+        invalidateLayout(DIRTY_SIZE);
     }
 
     public int getVisibleBars() {
@@ -186,7 +209,7 @@ public abstract class BaseBarChart extends BaseChart {
 
     public void setVisibleBars(int _visibleBars) {
         mVisibleBars = _visibleBars;
-        onDataChanged();
+        invalidateLayout(DIRTY_SIZE);
     }
 
     /**
@@ -207,8 +230,10 @@ public abstract class BaseBarChart extends BaseChart {
     }
 
     public void setScrollToEnd() {
+        validateLayout();
         mCurrentViewport.left = mContentRect.width() - mGraphWidth;
         mCurrentViewport.right = mContentRect.width();
+        onViewportChanged();
         invalidateGlobal();
     }
 
@@ -244,11 +269,27 @@ public abstract class BaseBarChart extends BaseChart {
         // availableScreenSize to the chartHeight
         mAvailableScreenSize = this instanceof VerticalBarChart ? mGraphHeight : mGraphWidth;
 
-        if(getData().size() > 0) {
+        // the shown bars are checked, as the bars of an adapter are not part of the data
+        if(getLegendData().size() > 0) {
             onDataChanged();
         }
     }
 
+    /**
+     * Only the legend is laid out again, if nothing else than the legend is outdated. Otherwise the
+     * bar positions are calculated again.
+     * @param _Flags The combination of flags which were passed to {@link #invalidateLayout(int)}.
+     */
+    @Override
+    protected void onLayoutInvalidated(int _Flags) {
+        if (_Flags == DIRTY_LEGEND) {
+            mLegendLayout.reset();
+            invalidateLegend();
+        } else {
+            super.onLayoutInvalidated(_Flags);
+        }
+    }
+
     /**
      * This is the main entry point after the graph has been inflated. Used to initialize the graph
      * and its corresponding members.
@@ -300,6 +341,24 @@ public abstract class BaseBarChart extends BaseChart {
             }
         });
 
+        mTransitionAnimator = ValueAnimator.ofFloat(0, 1);
+        mTransitionAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
+            @Override
+            public void onAnimationUpdate(ValueAnimator animation) {
+                mTransitionValue = animation.getAnimatedFraction();
+                invalidateTransition();
+            }
+        });
+        mTransitionAnimator.addListener(new AnimatorListenerAdapter() {
+            @Override
+            public void onAnimationEnd(Animator animation) {
+                // the changed bars are moved back into the bar batch
+                mTransitionCount = 0;
+                mBarBatch.invalidate();
+                mGraph.invalidate();
+            }
+        });
+
         // The scroller doesn't have any built-in animation functions--it just supplies
         // values when we ask it to. So we have to have a way to call it every frame
         // until the fling ends. This code (ab)uses a ValueAnimator object to generate
@@ -350,7 +409,12 @@ public abstract class BaseBarChart extends BaseChart {
         mContentRect       = new Rect(0, 0, contentWidth, contentHeight);
         mCurrentViewport   = new RectF(0, 0, mGraphWidth, mGraphHeight);
 
+        mBarSpacing        = barWidth + margin;
+        mCalculatedBarWidth = barWidth;
+
         calculateBounds(barWidth, margin);
+        mBarBatch.invalidate();
+        mLegendLayout.reset();
         mLegend.invalidate();
         mGraph.invalidate();
     }
@@ -375,6 +439,7 @@ public abstract class BaseBarChart extends BaseChart {
                 mCurrentViewport.bottom += distanceY;
             }
 
+            onViewportChanged();
             invalidateGlobal();
             return true;
         }
@@ -426,11 +491,20 @@ public abstract class BaseBarChart extends BaseChart {
                 mCurrentViewport.top    = currY;
                 mCurrentViewport.bottom = currY + mGraphHeight;
             }
+
+            onViewportChanged();
         } else {
             mScrollAnimator.cancel();
         }
     }
 
+    /**
+     * Called after the viewport was scrolled, so child classes can prepare the bars which became
+     * visible.
+     */
+    protected void onViewportChanged() {
+    }
+
     /**
      * Force a stop to all pie motion. Called when the user taps during a fling.
      */
@@ -451,6 +525,193 @@ public abstract class BaseBarChart extends BaseChart {
      */
     protected abstract void drawBars(Canvas _Canvas);
 
+    /**
+     * Calculates the index of the first bar, which reaches into the current viewport. As every bar
+     * takes the same space, the index is calculated from the scroll position.
+     * @return Index of the first visible bar.
+     */
+    protected int getFirstVisibleBar() {
+        if (mBarSpacing <= 0) {
+            return 0;
+        }
+
+        float start = this instanceof VerticalBarChart ? mCurrentViewport.top : mCurrentViewport.left;
+        return Math.max(0, (int) (start / mBarSpacing));
+    }
+
+    /**
+     * Calculates the index of the last bar, which reaches into the current viewport.
+     * @param _DataSize The amount of bars.
+     * @return Index of the last visible bar, or -1 if there are no bars.
+     */
+    protected int getLastVisibleBar(int _DataSize) {
+        if (mBarSpacing <= 0) {
+            return _DataSize - 1;
+        }
+
+        float end = this instanceof VerticalBarChart ? mCurrentViewport.bottom : mCurrentViewport.right;
+        return Math.min(_DataSize - 1, (int) (end / mBarSpacing));
+    }
+
+    /**
+     * Applies new values to the bars and animates only the bars whose bounds changed from their old
+     * to their new bounds. The unchanged bars stay in the bar batch, which is not rebuilt during the
+     * transition. If a transition is running, the changed bars start from their current position.
+     * If the amount of shown bars changes, the bars jump to their new bounds. The shown bars have to
+     * be {@link BarModel}s.
+     * @param _Bars   The bars of the chart.
+     * @param _Values The new values, one for every bar.
+     */
+    protected void startValueTransition(List<BarModel> _Bars, float[] _Values) {
+        if (_Values.length != _Bars.size()) {
+            throw new IllegalArgumentException("A value is needed for every bar");
+        }
+
+        validateLayout();
+
+        // the bounds are read from the shown bars, so no list of bounds has to be allocated
+        List<? extends BaseModel> shown = getLegendData();
+        int                       count = shown.size();
+
+        // the old bounds of a running transition are still needed, so the arrays are copied
+        if (mTransitionFrom.length < count * 4) {
+            mTransitionFrom    = Arrays.copyOf(mTransitionFrom, count * 4);
+            mTransitionIndices = Arrays.copyOf(mTransitionIndices, count);
+        }
+
+        int transition = 0;
+        for (int i = 0; i < count; i++) {
+            RectF bounds = ((BarModel) shown.get(i)).getBarBounds();
+
+            // a bar of the running transition starts from its current, interpolated position
+            if (transition < mTransitionCount && mTransitionIndices[transition] == i) {
+                transition++;
+                interpolateTransition(i, bounds, mTransitionRect);
+                bounds = mTransitionRect;
+            }
+
+            mTransitionFrom[i * 4]     = bounds.left;
+            mTransitionFrom[i * 4 + 1] = bounds.top;
+            mTransitionFrom[i * 4 + 2] = bounds.right;
+            mTransitionFrom[i * 4 + 3] = bounds.bottom;
+        }
+
+        mTransitionAnimator.cancel();
+        mTransitionCount = 0;
+
+        for (int i = 0; i < _Values.length; i++) {
+            _Bars.get(i).setValue(_Values[i]);
+        }
+        onDataChanged();
+
+        // the chart may show another list after the recalculation
+        shown = getLegendData();
+        if (deferDataChanged() || shown.size() != count) {
+            return;
+        }
+
+        boolean isVertical = this instanceof VerticalBarChart;
+        float   dirtyStart = Float.MAX_VALUE;
+        float   dirtyEnd   = -Float.MAX_VALUE;
+
+        for (int i = 0; i < count; i++) {
+            RectF bounds = ((BarModel) shown.get(i)).getBarBounds();
+
+            if (Math.abs(bounds.left   - mTransitionFrom[i * 4])     >= 0.5f
+             || Math.abs(bounds.top    - mTransitionFrom[i * 4 + 1]) >= 0.5f
+             || Math.abs(bounds.right  - mTransitionFrom[i * 4 + 2]) >= 0.5f
+             || Math.abs(bounds.bottom - mTransitionFrom[i * 4 + 3]) >= 0.5f) {
+                mTransitionIndices[mTransitionCount++] = i;
+
+                // the value labels move along the bars, so the dirty area spans the whole graph
+                // across the bars
+                dirtyStart = Math.min(dirtyStart, isVertical ? bounds.top    : bounds.left);
+                dirtyEnd   = Math.max(dirtyEnd,   isVertical ? bounds.bottom : bounds.right);
+            }
+        }
+
+        if (mTransitionCount > 0) {
+            if (isVertical) {
+                mTransitionDirty.set(0, dirtyStart, mGraphWidth, dirtyEnd);
+            } else {
+                mTransitionDirty.set(dirtyStart, 0, dirtyEnd, mGraphHeight);
+            }
+
+            mTransitionValue = 0;
+            mBarBatch.invalidate();
+            mTransitionAnimator.setDuration(mAnimationTime).start();
+        }
+    }
+
+    /**
+     * Checks if the bar is animated by the running value transition. Those bars are not added to the
+     * bar batch, but drawn with their interpolated bounds.
+     * @param _Index Index of the bar.
+     * @return True if the bar is animated.
+     */
+    protected boolean isInTransition(int _Index) {
+        return mTransitionCount > 0 && Arrays.binarySearch(mTransitionIndices, 0, mTransitionCount, _Index) >= 0;
+    }
+
+    /**
+     * Calculates the current bounds of a bar of the value transition.
+     * @param _Index  Index of the bar.
+     * @param _Target The new bounds of the bar.
+     * @param _Result The rectangle in which the interpolated bounds are stored.
+     */
+    protected void interpolateTransition(int _Index, RectF _Target, RectF _Result) {
+        float fraction = mTransitionValue;
+        int   offset   = _Index * 4;
+
+        _Result.set(
+                mTransitionFrom[offset]     + (_Target.left   - mTransitionFrom[offset])     * fraction,
+                mTransitionFrom[offset + 1] + (_Target.top    - mTransitionFrom[offset + 1]) * fraction,
+                mTransitionFrom[offset + 2] + (_Target.right  - mTransitionFrom[offset + 2]) * fraction,
+                mTransitionFrom[offset + 3] + (_Target.bottom - mTransitionFrom[offset + 3]) * fraction
+        );
+    }
+
+    /**
+     * Draws the bars of the running value transition with their interpolated bounds.
+     * @param _Canvas The canvas.
+     * @param _Bars   The bars of the chart.
+     * @param _From   Index of the first visible bar.
+     * @param _To     Index of the last visible bar.
+     */
+    protected void drawTransitionBars(Canvas _Canvas, List<BarModel> _Bars, int _From, int _To) {
+        for (int i = 0; i < mTransitionCount; i++) {
+            int index = mTransitionIndices[i];
+
+            if (index >= _From && index <= _To && index < _Bars.size()) {
+                BarModel model = _Bars.get(index);
+                interpolateTransition(index, model.getBarBounds(), mTransitionRect);
+                mGraphPaint.setColor(model.getColor());
+                _Canvas.drawRect(mTransitionRect, mGraphPaint);
+            }
+        }
+    }
+
+    /**
+     * Invalidates the part of the graph, in which the bars of the value transition are drawn. The
+     * whole graph is invalidated while the bars are revealed.
+     */
+    private void invalidateTransition() {
+        if (mRevealAnimator != null && mRevealAnimator.isRunning()) {
+            mGraph.invalidate();
+            return;
+        }
+
+        int offsetX = (int) mCurrentViewport.left;
+        int offsetY = (int) mCurrentViewport.top;
+
+        mGraph.invalidate(
+                (int) Math.floor(mTransitionDirty.left)  - offsetX,
+                (int) Math.floor(mTransitionDirty.top)   - offsetY,
+                (int) Math.ceil(mTransitionDirty.right)  - offsetX,
+                (int) Math.ceil(mTransitionDirty.bottom) - offsetY
+        );
+    }
+
     /**
      * Returns the list of data sets which hold the information about the legend boundaries and text.
      * @return List of BaseModel data sets.
@@ -459,6 +720,73 @@ public abstract class BaseBarChart extends BaseChart {
 
     protected abstract List<RectF> getBarBounds();
 
+    /**
+     * Checks if a point of the content hits the bar at the given index.
+     * @param _Index Index of the bar.
+     * @param _X     x-coordinate of the point in the content.
+     * @param _Y     y-coordinate of the point in the content.
+     * @return The index of the hit segment, 0 for a simple bar or -1 if the bar is not hit.
+     */
+    protected abstract int getSegmentAt(int _Index, float _X, float _Y);
+
+    /**
+     * Notifies the listeners about the bar under a point of the content. As every bar takes the same
+     * space, the index is calculated from the bar spacing and only this bar is checked.
+     * @param _X x-coordinate of the point in the content.
+     * @param _Y y-coordinate of the point in the content.
+     */
+    private void performBarClick(float _X, float _Y) {
+        int   size     = getLegendData().size();
+        float position = this instanceof VerticalBarChart ? _Y : _X;
+
+        if (size == 0 || mBarSpacing <= 0 || position < 0) {
+            return;
+        }
+
+        int index = (int) (position / mBarSpacing);
+        if (index >= size) {
+            return;
+        }
+
+        int segment = getSegmentAt(index, _X, _Y);
+        if (segment >= 0 && !onBarTapped(index)) {
+            int dataIndex = getDataIndex(index);
+            if (mListener != null) {
+                mListener.onBarClicked(dataIndex);
+            }
+            if (mSegmentListener != null) {
+                mSegmentListener.onBarSegmentClicked(dataIndex, segment);
+            }
+        }
+    }
+
+    /**
+     * Called when a shown bar is tapped, before the listeners are notified.
+     * @param _Index Index of the bar in the legend data.
+     * @return True if the tap was consumed and the listeners should not be notified.
+     */
+    protected boolean onBarTapped(int _Index) {
+        return false;
+    }
+
+    /**
+     * Checks if the chart reacts to taps on its bars by itself, so taps are resolved even if no
+     * listener is set.
+     * @return True if {@link #onBarTapped(int)} might consume a tap.
+     */
+    protected boolean handlesBarTaps() {
+        return false;
+    }
+
+    /**
+     * Maps the index of a shown bar to the position of its data, which is reported to the listeners.
+     * @param _Index Index of the bar in the legend data.
+     * @return Position of the bar in the data of the chart.
+     */
+    protected int getDataIndex(int _Index) {
+        return _Index;
+    }
+
     // ---------------------------------------------------------------------------------------------
     //                          Override methods from view layers
     // ---------------------------------------------------------------------------------------------
@@ -477,17 +805,31 @@ public abstract class BaseBarChart extends BaseChart {
 
         _Canvas.translate(-mCurrentViewport.left, 0);
 
-        for (BaseModel model : getLegendData()) {
-            if(model.canShowLabel()) {
-                RectF bounds = model.getLegendBounds();
-                _Canvas.drawText(model.getLegendLabel(), model.getLegendLabelPosition(), bounds.bottom - mMaxFontHeight, mLegendPaint);
-                _Canvas.drawLine(
-                        bounds.centerX(),
-                        bounds.bottom - mMaxFontHeight * 2 - mLegendTopPadding,
-                        bounds.centerX(),
-                        mLegendTopPadding, mLegendPaint
-                );
-            }
+        List<? extends BaseModel> data = getLegendData();
+        int size = data.size();
+
+        if (size == 0 || mBarSpacing <= 0) {
+            return;
+        }
+
+        // only the labels which reach into the viewport are laid out and drawn
+        float reach  = mLegendLayout.getMaxLabelWidth() / 2;
+        int   from   = Math.max(0, (int) ((mCurrentViewport.left - reach) / mBarSpacing));
+        int   to     = Math.min(size - 1, (int) ((mCurrentViewport.right + reach) / mBarSpacing));
+
+        mLegendLayout.layout(mLegendLabels, from, to, mContentRect.width(), mLegendPaint);
+
+        int stride = mLegendLayout.getStride(mBarSpacing);
+        for (int i = LegendLayout.getFirstShownIndex(from, stride); i <= to; i += stride) {
+            BaseModel model  = data.get(i);
+            RectF     bounds = model.getLegendBounds();
+            _Canvas.drawText(model.getLegendLabel(), model.getLegendLabelPosition(), bounds.bottom - mMaxFontHeight, mLegendPaint);
+            _Canvas.drawLine(
+                    bounds.centerX(),
+                    bounds.bottom - mMaxFontHeight * 2 - mLegendTopPadding,
+                    bounds.centerX(),
+                    mLegendTopPadding, mLegendPaint
+            );
         }
     }
 
@@ -500,21 +842,11 @@ public abstract class BaseBarChart extends BaseChart {
 
                 result = true;
 
-                if (mListener == null) {
+                if (mListener == null && mSegmentListener == null && !handlesBarTaps()) {
                     // we're not interested in clicks on individual bars here
                     BaseBarChart.this.onTouchEvent(_Event);
                 } else {
-                    float newX = _Event.getX() + mCurrentViewport.left;
-                    float newY = _Event.getY() + mCurrentViewport.top;
-                    int   counter = 0;
-
-                    for (RectF rectF : getBarBounds()) {
-                        if (Utils.intersectsPointWithRectF(rectF, newX, newY)) {
-                            mListener.onBarClicked(counter);
-                            break; // no need to check other bars
-                        }
-                        counter++;
-                    }
+                    performBarClick(_Event.getX() + mCurrentViewport.left, _Event.getY() + mCurrentViewport.top);
                 }
                 break;
         }
@@ -561,6 +893,29 @@ public abstract class BaseBarChart extends BaseChart {
     protected Rect mContentRect = new Rect();
 
     protected IOnBarClickedListener mListener = null;
+    protected IOnBarSegmentClickedListener mSegmentListener = null;
+
+    /**
+     * The layout of the legend labels and the access to the labels of the legend data.
+     */
+    protected LegendLayout    mLegendLayout = new LegendLayout();
+
+    private final LegendLayout.LabelProvider mLegendLabels = new LegendLayout.LabelProvider() {
+        @Override
+        public String getLabel(int _Index) {
+            return getLegendData().get(_Index).getLegendLabel();
+        }
+
+        @Override
+        public float getCenterX(int _Index) {
+            return getLegendData().get(_Index).getLegendBounds().centerX();
+        }
+
+        @Override
+        public void setLabelPosition(int _Index, int _Position) {
+            getLegendData().get(_Index).setLegendLabelPosition(_Position);
+        }
+    };
 
     protected Paint           mGraphPaint;
     protected Paint           mLegendPaint;
@@ -568,12 +923,37 @@ public abstract class BaseBarChart extends BaseChart {
     protected float           mBarWidth;
     protected boolean         mFixedBarWidth;
     protected float           mBarMargin;
+    /**
+     * The distance between the centers of two neighbouring bars.
+     */
+    protected float           mBarSpacing;
+    /**
+     * The width of a bar, which was calculated during the last layout.
+     */
+    protected float           mCalculatedBarWidth;
+
+    /**
+     * The bars of the visible range, grouped by their color.
+     */
+    protected final BarBatch  mBarBatch = new BarBatch();
     protected int             mAvailableScreenSize;
 
     protected boolean         mScrollEnabled;
     protected int             mVisibleBars;
     protected boolean         mShowValues;
 
+    /**
+     * The value transition: the old bounds of every bar, four floats per bar, and the ascending
+     * indices of the bars which are animated. All animated bars share one animator.
+     */
+    private ValueAnimator     mTransitionAnimator;
+    private float             mTransitionValue;
+    private float[]           mTransitionFrom    = new float[0];
+    private int[]             mTransitionIndices = new int[0];
+    private int               mTransitionCount;
+    private final RectF       mTransitionRect    = new RectF();
+    private final RectF       mTransitionDirty   = new RectF();
+
     private GestureDetector   mGestureDetector;
     private Scroller          mScroller;
     private ValueAnimator     mScrollAnimator;
@@ -27,6 +27,7 @@ import android.util.AttributeSet;
 import android.view.MotionEvent;
 import android.view.View;
 import android.view.ViewGroup;
+import android.view.ViewTreeObserver;
 
 import com.nineoldandroids.animation.ValueAnimator;
 
@@ -123,7 +124,7 @@ public abstract class BaseChart extends ViewGroup {
         mLegendHeight = Utils.dpToPx(_legendHeight);
 
         if(getData().size() > 0)
-            onDataChanged();
+            invalidateLayout(DIRTY_SIZE | DIRTY_LEGEND);
     }
 
     /**
@@ -209,6 +210,38 @@ public abstract class BaseChart extends ViewGroup {
         onDataChanged();
     }
 
+    /**
+     * Starts a batch of data changes. Until the matching {@link #endUpdate()} is called, inserted
+     * data does not trigger a recalculation of the chart. Batches can be nested.
+     */
+    public void beginUpdate() {
+        mUpdateDepth++;
+    }
+
+    /**
+     * Ends a batch of data changes, which was started with {@link #beginUpdate()}. If the data
+     * changed during the outermost batch, the chart is recalculated exactly once.
+     */
+    public void endUpdate() {
+        if (mUpdateDepth == 0) {
+            throw new IllegalStateException("endUpdate() was called without beginUpdate()");
+        }
+
+        mUpdateDepth--;
+        if (mUpdateDepth == 0 && mDataChangedDuringUpdate) {
+            mDataChangedDuringUpdate = false;
+            onDataChanged();
+        }
+    }
+
+    /**
+     * Checks if a batch of data changes is currently running.
+     * @return True if {@link #beginUpdate()} was called more often than {@link #endUpdate()}.
+     */
+    public boolean isUpdating() {
+        return mUpdateDepth > 0;
+    }
+
     /**
      * Starts the chart animation.
      */
@@ -266,9 +299,71 @@ public abstract class BaseChart extends ViewGroup {
      * has changed.
      */
     protected void onDataChanged() {
+        if (deferDataChanged()) {
+            return;
+        }
+        invalidateGlobal();
+    }
+
+    /**
+     * Defers a data change until the current batch of data changes ends. Implementations of
+     * {@link #onDataChanged()} should return immediately, if this method returns true.
+     * @return True if the recalculation is deferred.
+     */
+    protected final boolean deferDataChanged() {
+        if (mUpdateDepth > 0) {
+            mDataChangedDuringUpdate = true;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Marks parts of the chart as outdated, without recalculating them right away. The outdated parts
+     * are recalculated once before the next frame is drawn, so several setters which are called in a
+     * row only cause a single recalculation.
+     * @param _Flags A combination of {@link #DIRTY_DATA}, {@link #DIRTY_SIZE}, {@link #DIRTY_STYLE}
+     *               and {@link #DIRTY_LEGEND}.
+     */
+    protected final void invalidateLayout(int _Flags) {
+        mDirtyFlags |= _Flags;
         invalidateGlobal();
     }
 
+    /**
+     * Recalculates the outdated parts of the chart immediately. Is called before the chart is drawn,
+     * but can be called before calculated values are accessed, too.
+     */
+    protected final void validateLayout() {
+        if (mDirtyFlags != 0 && !isUpdating()) {
+            int flags = mDirtyFlags;
+            mDirtyFlags = 0;
+            onLayoutInvalidated(flags);
+        }
+    }
+
+    /**
+     * Recalculates the parts of the chart which were marked as outdated. The default implementation
+     * recalculates the whole chart. Charts might overwrite this method to recalculate only the stages
+     * which depend on the given flags.
+     * @param _Flags The combination of flags which were passed to {@link #invalidateLayout(int)}.
+     */
+    protected void onLayoutInvalidated(int _Flags) {
+        onDataChanged();
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        getViewTreeObserver().addOnPreDrawListener(mPreDrawListener);
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        getViewTreeObserver().removeOnPreDrawListener(mPreDrawListener);
+        super.onDetachedFromWindow();
+    }
+
     /**
      * Invalidates graph and legend and forces them to be redrawn.
      */
@@ -569,6 +664,15 @@ public abstract class BaseChart extends ViewGroup {
 
     protected final static NumberFormat mFormatter = NumberFormat.getInstance(Locale.getDefault());
 
+    /**
+     * Flags which mark the outdated parts of the chart: the data, the size of the graph or its
+     * elements, the style of the graph and the legend.
+     */
+    protected static final int  DIRTY_DATA              = 1;
+    protected static final int  DIRTY_SIZE              = 1 << 1;
+    protected static final int  DIRTY_STYLE             = 1 << 2;
+    protected static final int  DIRTY_LEGEND            = 1 << 3;
+
     public static final float   DEF_LEGEND_HEIGHT       = 58.f;
     public static final int     DEF_LEGEND_COLOR        = 0xFF898989;
     // will be interpreted as sp value
@@ -609,4 +713,17 @@ public abstract class BaseChart extends ViewGroup {
     protected int               mAnimationTime      = 1000;
     protected boolean           mStartedAnimation   = false;
 
+    private int                 mUpdateDepth              = 0;
+    private boolean             mDataChangedDuringUpdate  = false;
+
+    private int                 mDirtyFlags               = 0;
+
+    private final ViewTreeObserver.OnPreDrawListener mPreDrawListener = new ViewTreeObserver.OnPreDrawListener() {
+        @Override
+        public boolean onPreDraw() {
+            validateLayout();
+            return true;
+        }
+    };
+
 }
@@ -70,9 +70,12 @@ import com.nineoldandroids.animation.ValueAnimator;
 import org.eazegraph.lib.R;
 import org.eazegraph.lib.communication.IOnItemFocusChangedListener;
 import org.eazegraph.lib.models.PieModel;
+import org.eazegraph.lib.utils.TextMeasureCache;
 import org.eazegraph.lib.utils.Utils;
+import org.eazegraph.lib.utils.ValueFormatter;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -182,7 +185,7 @@ public class PieChart extends BaseChart {
      */
     public void setUseInnerPadding(boolean _useInnerPadding) {
         mUseInnerPadding = _useInnerPadding;
-        onDataChanged();
+        invalidateLayout(DIRTY_STYLE);
     }
 
     /**
@@ -201,7 +204,7 @@ public class PieChart extends BaseChart {
      */
     public void setInnerPadding(float _innerPadding) {
         mInnerPadding = _innerPadding;
-        onDataChanged();
+        invalidateLayout(DIRTY_STYLE);
     }
 
     /**
@@ -236,7 +239,7 @@ public class PieChart extends BaseChart {
      */
     public void setInnerPaddingOutline(float _innerPaddingOutline) {
         mInnerPaddingOutline = _innerPaddingOutline;
-        onDataChanged();
+        invalidateLayout(DIRTY_STYLE);
     }
 
     /**
@@ -372,6 +375,7 @@ public class PieChart extends BaseChart {
      */
     public void setInnerValueString(String _innerValueString) {
         mInnerValueString = _innerValueString;
+        mInnerValueFormatted = false;
         invalidateGraphOverlay();
     }
 
@@ -392,6 +396,7 @@ public class PieChart extends BaseChart {
      */
     public void setUseCustomInnerValue(boolean _useCustomInnerValue) {
         mUseCustomInnerValue = _useCustomInnerValue;
+        mInnerValueFormatted = false;
     }
 
     /**
@@ -427,6 +432,7 @@ public class PieChart extends BaseChart {
      */
     public void setInnerValueUnit(String _innerValueUnit) {
         mInnerValueUnit = _innerValueUnit;
+        mInnerValueFormatted = false;
     }
 
     /**
@@ -503,6 +509,21 @@ public class PieChart extends BaseChart {
         onDataChanged();
     }
 
+    /**
+     * Adds all Pie Slices of the collection to the PieChart. The chart is recalculated only once
+     * for the whole collection.
+     *
+     * @param _Slices The newly added PieSlices.
+     */
+    public void addPieSlices(Collection<? extends PieModel> _Slices) {
+        for (PieModel slice : _Slices) {
+            highlightSlice(slice);
+            mTotalValue += slice.getValue();
+        }
+        mPieData.addAll(_Slices);
+        onDataChanged();
+    }
+
     /**
      * Resets and clears the data object.
      */
@@ -716,6 +737,9 @@ public class PieChart extends BaseChart {
      */
     @Override
     protected void onDataChanged() {
+        if (deferDataChanged()) {
+            return;
+        }
         super.onDataChanged();
 
         int currentAngle = 0;
@@ -955,13 +979,10 @@ public class PieChart extends BaseChart {
             PieModel model = mPieData.get(mCurrentItem);
 
             if(!mUseCustomInnerValue) {
-                mInnerValueString = Utils.getFloatString(model.getValue(), mShowDecimal);
-                if (mInnerValueUnit != null && mInnerValueUnit.length() > 0) {
-                    mInnerValueString += " " + mInnerValueUnit;
-                }
+                updateInnerValueString(model.getValue());
             }
 
-            mValuePaint.getTextBounds(mInnerValueString, 0, mInnerValueString.length(), mValueTextBounds);
+            TextMeasureCache.getInstance().getTextBounds(mValuePaint, mInnerValueString, mValueTextBounds);
             _Canvas.drawText(
                     mInnerValueString,
                     mInnerBounds.centerX() - (mValueTextBounds.width() / 2),
@@ -971,6 +992,29 @@ public class PieChart extends BaseChart {
         }
     }
 
+    /**
+     * Formats the value of the selected slice with its unit. The String is only built again, if the
+     * value or the format changed since the last frame.
+     *
+     * @param _Value The value of the selected slice.
+     */
+    private void updateInnerValueString(float _Value) {
+        if (mInnerValueFormatted
+                && Float.floatToIntBits(_Value) == Float.floatToIntBits(mFormattedInnerValue)
+                && mShowDecimal == mFormattedShowDecimal) {
+            return;
+        }
+
+        boolean hasUnit = mInnerValueUnit != null && mInnerValueUnit.length() > 0;
+        int     length  = mValueFormatter.format(_Value, mShowDecimal, null, mValueChars);
+
+        mInnerValueString     = hasUnit ? new String(mValueChars, 0, length) + " " + mInnerValueUnit
+                                        : new String(mValueChars, 0, length);
+        mFormattedInnerValue  = _Value;
+        mFormattedShowDecimal = mShowDecimal;
+        mInnerValueFormatted  = true;
+    }
+
     @Override
     protected void onLegendDraw(Canvas _Canvas) {
         super.onLegendDraw(_Canvas);
@@ -982,9 +1026,8 @@ public class PieChart extends BaseChart {
         if(!mPieData.isEmpty()) {
             PieModel model = mPieData.get(mCurrentItem);
 
-            // center text in view
-            // TODO: move the boundary calculation out of onDraw
-            mLegendPaint.getTextBounds(model.getLegendLabel(), 0, model.getLegendLabel().length(), mTextBounds);
+            // center text in view, the boundaries are cached across frames
+            TextMeasureCache.getInstance().getTextBounds(mLegendPaint, model.getLegendLabel(), mTextBounds);
             _Canvas.drawText(
                     model.getLegendLabel(),
                     (mLegendWidth / 2) - (mTextBounds.width() / 2),
@@ -994,7 +1037,7 @@ public class PieChart extends BaseChart {
         }
         else {
 
-            mLegendPaint.getTextBounds(mEmptyDataText, 0, mEmptyDataText.length(), mTextBounds);
+            TextMeasureCache.getInstance().getTextBounds(mLegendPaint, mEmptyDataText, mTextBounds);
             _Canvas.drawText(
                     mEmptyDataText,
                     (mLegendWidth / 2) - (mTextBounds.width() / 2),
@@ -1021,6 +1064,29 @@ public class PieChart extends BaseChart {
                 mPieDiameter);
         mGraphBounds.offsetTo(centeredValueWidth, centeredValueHeight);
 
+        calculateInnerBounds();
+    }
+
+    /**
+     * The slice angles are only calculated again if the data or the size changed. A changed
+     * InnerPadding only updates the bounds of the InnerPadding.
+     * @param _Flags The combination of flags which were passed to {@link #invalidateLayout(int)}.
+     */
+    @Override
+    protected void onLayoutInvalidated(int _Flags) {
+        if ((_Flags & DIRTY_STYLE) != 0 && mGraphBounds != null) {
+            calculateInnerBounds();
+        }
+
+        if ((_Flags & ~DIRTY_STYLE) != 0) {
+            super.onLayoutInvalidated(_Flags);
+        }
+    }
+
+    /**
+     * Calculates the bounds of the InnerPadding and its outline from the bounds of the pie.
+     */
+    private void calculateInnerBounds() {
         mCalculatedInnerPadding         = (mPieRadius / 100) * mInnerPadding;
         mCalculatedInnerPaddingOutline  = (mPieRadius / 100) * mInnerPaddingOutline;
 
@@ -1169,6 +1235,16 @@ public class PieChart extends BaseChart {
     private float               mTotalValue;
     private String              mInnerValueString = "";
 
+    /**
+     * The value and format of the current inner value String, so it is only built again if one
+     * of them changed.
+     */
+    private boolean             mInnerValueFormatted;
+    private float               mFormattedInnerValue;
+    private boolean             mFormattedShowDecimal;
+    private final ValueFormatter mValueFormatter = new ValueFormatter();
+    private final char[]        mValueChars = new char[ValueFormatter.getMaxLength(null)];
+
     // Attributes -----------------------------------------------------
     private boolean             mUseInnerPadding;
     private float               mInnerPadding;
@@ -13,9 +13,12 @@ import org.eazegraph.lib.R;
 import org.eazegraph.lib.models.BarModel;
 import org.eazegraph.lib.models.BaseModel;
 import org.eazegraph.lib.models.StackedBarModel;
+import org.eazegraph.lib.utils.TextMeasureCache;
 import org.eazegraph.lib.utils.Utils;
+import org.eazegraph.lib.utils.ValueFormatter;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 
@@ -36,6 +39,8 @@ public class StackedBarChart extends BaseBarChart {
         mTextSize       = Utils.dpToPx(DEF_TEXT_SIZE);
         mShowSeparators = DEF_SHOW_SEPARATORS;
         mSeparatorWidth = Utils.dpToPx(DEF_SEPARATOR_WIDTH);
+        mMergeSubPixelSegments = DEF_MERGE_SUB_PIXEL_SEGMENTS;
+        mRemainderColor = DEF_REMAINDER_COLOR;
 
         initializeGraph();
     }
@@ -69,6 +74,8 @@ public class StackedBarChart extends BaseBarChart {
             mTextSize       = a.getDimension(R.styleable.StackedBarChart_egBarTextSize,     Utils.dpToPx(DEF_TEXT_SIZE));
             mShowSeparators = a.getBoolean(R.styleable.StackedBarChart_egShowSeparators,    DEF_SHOW_SEPARATORS);
             mSeparatorWidth = a.getDimension(R.styleable.StackedBarChart_egSeparatorWidth,  Utils.dpToPx(DEF_SEPARATOR_WIDTH));
+            mMergeSubPixelSegments = a.getBoolean(R.styleable.StackedBarChart_egMergeSubPixelSegments, DEF_MERGE_SUB_PIXEL_SEGMENTS);
+            mRemainderColor = a.getColor(R.styleable.StackedBarChart_egRemainderColor,      DEF_REMAINDER_COLOR);
 
         } finally {
             // release the TypedArray so that it can be reused.
@@ -93,7 +100,7 @@ public class StackedBarChart extends BaseBarChart {
      */
     public void setTextSize(float _textSize) {
         mTextSize = Utils.dpToPx(_textSize);
-        onDataChanged();
+        invalidateLayout(DIRTY_STYLE);
     }
 
     /**
@@ -110,6 +117,7 @@ public class StackedBarChart extends BaseBarChart {
      */
     public void setShowSeparators(boolean _showSeparators) {
         mShowSeparators = _showSeparators;
+        mBarBatch.invalidate();
         invalidateGlobal();
     }
 
@@ -128,7 +136,44 @@ public class StackedBarChart extends BaseBarChart {
      */
     public void setSeparatorWidth(float _separatorWidth) {
         mSeparatorWidth = _separatorWidth;
-        onDataChanged();
+        invalidateLayout(DIRTY_STYLE);
+    }
+
+    /**
+     * Checks if consecutive segments, which are lower than a pixel, are drawn as one remainder
+     * segment.
+     * @return True if the segments are merged.
+     */
+    public boolean isMergeSubPixelSegments() {
+        return mMergeSubPixelSegments;
+    }
+
+    /**
+     * Sets if consecutive segments, which are lower than a pixel, are drawn as one remainder segment
+     * with the remainder color. The values of those segments are not measured and not shown.
+     * @param _mergeSubPixelSegments True if the segments should be merged.
+     */
+    public void setMergeSubPixelSegments(boolean _mergeSubPixelSegments) {
+        mMergeSubPixelSegments = _mergeSubPixelSegments;
+        invalidateLayout(DIRTY_STYLE);
+    }
+
+    /**
+     * Returns the color of the merged remainder segments.
+     * @return The color.
+     */
+    public int getRemainderColor() {
+        return mRemainderColor;
+    }
+
+    /**
+     * Sets the color of the merged remainder segments.
+     * @param _remainderColor The color.
+     */
+    public void setRemainderColor(int _remainderColor) {
+        mRemainderColor = _remainderColor;
+        mBarBatch.invalidate();
+        invalidateGlobal();
     }
 
     /**
@@ -149,6 +194,16 @@ public class StackedBarChart extends BaseBarChart {
         onDataChanged();
     }
 
+    /**
+     * Appends all {@link org.eazegraph.lib.models.StackedBarModel}s of the collection to the BarChart. The
+     * chart is recalculated only once for the whole collection.
+     * @param _Bars The bars which will be added to the chart.
+     */
+    public void addBars(Collection<? extends StackedBarModel> _Bars) {
+        mData.addAll(_Bars);
+        onDataChanged();
+    }
+
     /**
      * Returns the data which is currently present in the chart.
      * @return The currently used data.
@@ -218,6 +273,9 @@ public class StackedBarChart extends BaseBarChart {
      */
     @Override
     protected void onDataChanged() {
+        if (deferDataChanged()) {
+            return;
+        }
         calculateBarPositions(mData.size());
         super.onDataChanged();
     }
@@ -229,7 +287,7 @@ public class StackedBarChart extends BaseBarChart {
      */
     protected void calculateBounds(float _Width, float _Margin) {
 
-        int last = 0;
+        float last = 0;
 
         for (StackedBarModel model : mData) {
             float lastY = 0;
@@ -247,25 +305,39 @@ public class StackedBarChart extends BaseBarChart {
                 // calculate topX for the StackedBarModel part
                 float newY = ((barModel.getValue() * usableGraphHeight) / cumulatedValues) + lastY;
                 float height = newY - lastY;
-                Rect textBounds = new Rect();
-                String value = String.valueOf(barModel.getValue());
 
-                mTextPaint.getTextBounds(value, 0, value.length(), textBounds);
+                // the value of a merged segment is never shown, so it is not measured
+                if (mMergeSubPixelSegments && height < 1.f) {
+                    barModel.setShowValue(false);
+                } else {
+                    int length = mValueFormatter.format(barModel.getValue(), true, null, mValueChars);
+
+                    TextMeasureCache.getInstance().getTextBounds(mTextPaint, mValueChars, 0, length, mTextBounds);
+
+                    if (mTextBounds.height() * 1.5f < height && mTextBounds.width() * 1.1f < _Width) {
+                        barModel.setShowValue(true);
 
-                if (textBounds.height() * 1.5f < height && textBounds.width() * 1.1f < _Width) {
-                    barModel.setShowValue(true);
-                    barModel.setValueBounds(textBounds);
+                        // the bounds of the model are reused
+                        if (barModel.getValueBounds() == null) {
+                            barModel.setValueBounds(new Rect(mTextBounds));
+                        } else {
+                            barModel.getValueBounds().set(mTextBounds);
+                        }
+                    }
                 }
 
-                barModel.setBarBounds(new RectF(last, lastY, last + _Width, newY));
+                // the bar bounds of the model are reused
+                if (barModel.getBarBounds() == null) {
+                    barModel.setBarBounds(new RectF(last, lastY, last + _Width, newY));
+                } else {
+                    barModel.getBarBounds().set(last, lastY, last + _Width, newY);
+                }
                 lastY = newY;
             }
             model.setLegendBounds(new RectF(last, 0, last + _Width, mLegendHeight));
 
             last += _Width + (_Margin / 2);
         }
-
-        Utils.calculateLegendInformation(mData, 0, mContentRect.width(), mLegendPaint);
     }
 
     /**
@@ -273,7 +345,25 @@ public class StackedBarChart extends BaseBarChart {
      * @param _Canvas The canvas object of the graph view.
      */
     protected void drawBars(Canvas _Canvas) {
-        for (StackedBarModel model : mData) {
+        int first = getFirstVisibleBar();
+        int last  = getLastVisibleBar(mData.size());
+
+        if (!mBarBatch.isValid(first, last)) {
+            rebuildBarBatch(first, last);
+        }
+
+        // the stacks grow from the bottom of the graph while they are revealed
+        _Canvas.save();
+        _Canvas.scale(1, mRevealValue, 0, mGraphHeight);
+        mBarBatch.draw(_Canvas, mGraphPaint);
+        _Canvas.restore();
+
+        if (!mShowValues) {
+            return;
+        }
+
+        for (int i = first; i <= last; i++) {
+            StackedBarModel model = mData.get(i);
             float lastTop;
             float lastBottom = mGraphHeight;
 
@@ -281,22 +371,14 @@ public class StackedBarChart extends BaseBarChart {
                 BarModel barModel = model.getBars().get(index);
 
                 RectF bounds = barModel.getBarBounds();
-                mGraphPaint.setColor(barModel.getColor());
 
                 float height = (bounds.height() * mRevealValue);
                 lastTop = lastBottom - height;
 
-                _Canvas.drawRect(
-                        bounds.left,
-                        lastTop,
-                        bounds.right,
-                        lastBottom,
-                        mGraphPaint
-                );
-
-                if (mShowValues && barModel.isShowValue()) {
+                if (barModel.isShowValue()) {
+                    int length = mValueFormatter.format(barModel.getValue(), true, null, mValueChars);
                     _Canvas.drawText(
-                            String.valueOf(barModel.getValue()),
+                            mValueChars, 0, length,
                             bounds.centerX(),
                             (lastTop + height / 2) + barModel.getValueBounds().height()/2,
                             mTextPaint
@@ -322,6 +404,104 @@ public class StackedBarChart extends BaseBarChart {
         return mData;
     }
 
+    /**
+     * Adds the segments of the given stacks to the bar batch. The segments are stacked from the
+     * bottom of the graph, separated by the separator width.
+     * @param _From Index of the first stack.
+     * @param _To   Index of the last stack.
+     */
+    private void rebuildBarBatch(int _From, int _To) {
+        float separator = mShowSeparators ? mSeparatorWidth : 0;
+
+        mBarBatch.begin(_From, _To, mCalculatedBarWidth);
+
+        for (int i = _From; i <= _To; i++) {
+            List<BarModel> bars = mData.get(i).getBars();
+
+            // the range of the current run of sub-pixel segments, which are merged into one column
+            int   runLength = 0;
+            int   runColor  = 0;
+            float runBottom = 0;
+            float runTop    = 0;
+
+            for (int index = 0; index < bars.size(); index++) {
+                BarModel barModel = bars.get(index);
+                RectF    bounds   = barModel.getBarBounds();
+                float    offset   = index * separator;
+                float    top      = mGraphHeight - bounds.bottom - offset;
+                float    bottom   = mGraphHeight - bounds.top - offset;
+
+                if (mMergeSubPixelSegments && bounds.height() < 1.f) {
+                    if (runLength == 0) {
+                        runBottom = bottom;
+                        runColor  = barModel.getColor();
+                    }
+                    runTop = top;
+                    runLength++;
+                    continue;
+                }
+
+                if (runLength > 0) {
+                    addRun(bounds.centerX(), runTop, runBottom, runLength, runColor);
+                    runLength = 0;
+                }
+
+                mBarBatch.addColumn(barModel.getColor(), bounds.centerX(), top, bottom);
+            }
+
+            if (runLength > 0) {
+                addRun(bars.get(0).getBarBounds().centerX(), runTop, runBottom, runLength, runColor);
+            }
+        }
+    }
+
+    /**
+     * Adds a run of sub-pixel segments to the bar batch. A single segment keeps its color, a longer
+     * run is drawn as one remainder segment.
+     */
+    private void addRun(float _CenterX, float _Top, float _Bottom, int _Length, int _Color) {
+        mBarBatch.addColumn(_Length == 1 ? _Color : mRemainderColor, _CenterX, _Top, _Bottom);
+    }
+
+    /**
+     * Resolves the hit segment by a binary search over the cumulative heights of the segments. The
+     * segments are drawn from the bottom, separated by the separator width.
+     */
+    @Override
+    protected int getSegmentAt(int _Index, float _X, float _Y) {
+        List<BarModel> bars = mData.get(_Index).getBars();
+
+        if (bars.isEmpty()) {
+            return -1;
+        }
+
+        RectF column = bars.get(0).getBarBounds();
+        if (_X <= column.left || _X >= column.right) {
+            return -1;
+        }
+
+        // the bounds of a segment hold its cumulative range, measured from the bottom of the graph
+        float separator = mShowSeparators ? mSeparatorWidth : 0;
+        float distance  = mGraphHeight - _Y;
+        int   low       = 0;
+        int   high      = bars.size() - 1;
+
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (bars.get(middle).getBarBounds().bottom + middle * separator < distance) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        RectF bounds = bars.get(low).getBarBounds();
+        float start  = bounds.top + low * separator;
+        float end    = bounds.bottom + low * separator;
+
+        return distance > start && distance < end ? low : -1;
+    }
+
     @Override
     protected List<RectF> getBarBounds() {
         ArrayList<RectF> bounds = new ArrayList<RectF>();
@@ -340,6 +520,8 @@ public class StackedBarChart extends BaseBarChart {
     public static final float   DEF_TEXT_SIZE       = 12f;
     public static final boolean DEF_SHOW_SEPARATORS = false;
     public static final float   DEF_SEPARATOR_WIDTH = 2f;
+    public static final boolean DEF_MERGE_SUB_PIXEL_SEGMENTS = false;
+    public static final int     DEF_REMAINDER_COLOR = 0xFFBDBDBD;
 
     private Paint                  mSeperatorPaint;
     private Paint                  mTextPaint;
@@ -349,4 +531,14 @@ public class StackedBarChart extends BaseBarChart {
     private float                  mTextSize;
     private boolean                mShowSeparators;
     private float                  mSeparatorWidth;
+    private boolean                mMergeSubPixelSegments;
+    private int                    mRemainderColor;
+
+    private final Rect             mTextBounds = new Rect();
+
+    /**
+     * The formatter and the reused buffer for the values of the segments.
+     */
+    private final ValueFormatter   mValueFormatter = new ValueFormatter();
+    private final char[]           mValueChars     = new char[ValueFormatter.getMaxLength(null)];
 }
@@ -38,17 +38,33 @@ import com.nineoldandroids.animation.ValueAnimator;
 
 import org.eazegraph.lib.R;
 import org.eazegraph.lib.communication.IOnPointFocusedListener;
-import org.eazegraph.lib.models.BaseModel;
+import org.eazegraph.lib.models.ColumnarValueLineSeries;
 import org.eazegraph.lib.models.LegendModel;
 import org.eazegraph.lib.models.Point2D;
 import org.eazegraph.lib.models.StandardValue;
+import org.eazegraph.lib.models.StreamingValueLineSeries;
+import org.eazegraph.lib.models.TimedValueLineSeries;
 import org.eazegraph.lib.models.ValueLinePoint;
 import org.eazegraph.lib.models.ValueLineSeries;
+import org.eazegraph.lib.utils.Downsampler;
+import org.eazegraph.lib.utils.LegendLayout;
+import org.eazegraph.lib.utils.MinMaxPyramid;
 import org.eazegraph.lib.utils.ScaleGestureDetectorCompat;
+import org.eazegraph.lib.utils.TextMeasureCache;
 import org.eazegraph.lib.utils.Utils;
+import org.eazegraph.lib.utils.ValueLabelCache;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A LineChart which displays various line series with one value and the remaining information is
@@ -88,6 +104,12 @@ public class ValueLineChart extends BaseChart {
         mScalingFactor                = DEF_SCALING_FACTOR;
         mMaxZoomX                     = DEF_MAX_ZOOM_X;
         mMaxZoomY                     = DEF_MAX_ZOOM_Y;
+        mUseDownsampling              = DEF_USE_DOWNSAMPLING;
+        mUseLevelOfDetail             = DEF_USE_LEVEL_OF_DETAIL;
+        mUseIndicatorScrubbing        = DEF_USE_INDICATOR_SCRUBBING;
+        mUseAsyncCalculation          = DEF_USE_ASYNC_CALCULATION;
+        mUseParallelCalculation       = DEF_USE_PARALLEL_CALCULATION;
+        mUseVisibleAutoScale          = DEF_USE_VISIBLE_AUTO_SCALE;
 
         initializeGraph();
     }
@@ -142,6 +164,12 @@ public class ValueLineChart extends BaseChart {
             mScalingFactor                = a.getFloat(R.styleable.ValueLineChart_egScalingFactor,                  DEF_SCALING_FACTOR);
             mMaxZoomX                     = a.getFloat(R.styleable.ValueLineChart_egMaxXZoom,                       DEF_MAX_ZOOM_X);
             mMaxZoomY                     = a.getFloat(R.styleable.ValueLineChart_egMaxYZoom,                       DEF_MAX_ZOOM_Y);
+            mUseDownsampling              = a.getBoolean(R.styleable.ValueLineChart_egUseDownsampling,              DEF_USE_DOWNSAMPLING);
+            mUseLevelOfDetail             = a.getBoolean(R.styleable.ValueLineChart_egUseLevelOfDetail,             DEF_USE_LEVEL_OF_DETAIL);
+            mUseIndicatorScrubbing        = a.getBoolean(R.styleable.ValueLineChart_egUseIndicatorScrubbing,        DEF_USE_INDICATOR_SCRUBBING);
+            mUseAsyncCalculation          = a.getBoolean(R.styleable.ValueLineChart_egUseAsyncCalculation,          DEF_USE_ASYNC_CALCULATION);
+            mUseParallelCalculation       = a.getBoolean(R.styleable.ValueLineChart_egUseParallelCalculation,       DEF_USE_PARALLEL_CALCULATION);
+            mUseVisibleAutoScale          = a.getBoolean(R.styleable.ValueLineChart_egUseVisibleAutoScale,          DEF_USE_VISIBLE_AUTO_SCALE);
 
         } finally {
             // release the TypedArray so that it can be reused.
@@ -151,6 +179,7 @@ public class ValueLineChart extends BaseChart {
         if(mIndicatorTextUnit == null) {
             mIndicatorTextUnit = "";
         }
+        mIndicatorTextSuffix = getIndicatorTextSuffix(mIndicatorTextUnit);
 
         initializeGraph();
     }
@@ -164,6 +193,184 @@ public class ValueLineChart extends BaseChart {
         onDataChanged();
     }
 
+    /**
+     * Appends a point to an already inserted series. If the value lies in the current value range
+     * and the series has a capacity which leaves space for the point, only the coordinates of the new
+     * point are calculated and its segment is added to the existing Path. Otherwise the whole graph
+     * is recalculated.
+     *
+     * In cubic mode the segment before the appended point keeps its tangent until the next
+     * complete recalculation.
+     *
+     * @param _Series The series to which the point is appended.
+     * @param _Point  The point which should be appended.
+     * @see ValueLineSeries#setCapacity(int)
+     */
+    public void appendPoint(ValueLineSeries _Series, ValueLinePoint _Point) {
+        if (queuePoint(_Series, _Point)) {
+            return;
+        }
+
+        if (_Series instanceof StreamingValueLineSeries) {
+            appendValue((StreamingValueLineSeries) _Series, _Point.getValue());
+            return;
+        }
+
+        _Series.addPoint(_Point);
+
+        if (!canAppendPoint(_Series, _Point.getValue())) {
+            onDataChanged();
+            return;
+        }
+
+        int   index       = _Series.getPointCount() - 1;
+        int   spacing     = getSpacingCount(_Series);
+        float widthOffset = _Series.getWidthOffset();
+        float x           = calculatePointX(index, spacing, widthOffset, mGraphWidth);
+        float y           = calculatePointY(_Point.getValue());
+
+        if (mUseCubic) {
+            float previousX = calculatePointX(index - 1, spacing, widthOffset, mGraphWidth);
+            float previousY = calculatePointY(_Series.getValueAt(index - 1));
+
+            // the appended point is the last one, so it is used as its own successor
+            float controlX = previousX + (x - previousX) * mSecondMultiplier;
+            float controlY = previousY + (y - previousY) * mSecondMultiplier;
+            _Series.getPath().cubicTo(controlX, controlY, x, y, x, y);
+        } else {
+            _Series.getPath().lineTo(x, y);
+        }
+
+        _Series.setCoordinatesAt(index, x, y);
+
+        // the label of the previously last point is laid out as soon as it becomes visible
+        invalidateGlobal();
+    }
+
+    /**
+     * Checks if the last point of the series can be appended without recalculating the whole graph.
+     * @param _Series The series to which the point was appended.
+     * @param _Value  The value of the appended point.
+     * @return True if only the new segment has to be calculated.
+     */
+    private boolean canAppendPoint(ValueLineSeries _Series, float _Value) {
+        int size = _Series.getPointCount();
+
+        return mSeries.contains(_Series)
+                && size > 2
+                && size <= _Series.getCapacity()
+                && _Series.hasCoordinatesAt(size - 2)
+                && !mUseOverlapFill
+                && !mUseDownsampling
+                && !mUseLevelOfDetail
+                && !mUseVisibleAutoScale
+                && !(_Series instanceof TimedValueLineSeries)
+                && mGeometry.mPathSpanRight >= mGraphWidth
+                && !isGeometryPending()
+                && _Value >= mGeometry.mAppendMinValue
+                && _Value <= mGeometry.mAppendMaxValue;
+    }
+
+    /**
+     * Appends a value to an already inserted streaming series and moves its window. As long as the
+     * value range of the graph does not change, only the new segment is added to the existing Path
+     * and the Path is shifted to the left while drawing. After the window moved by its whole capacity,
+     * the Path is generated again, so it never holds more than twice the capacity.
+     *
+     * If the value range changes, because a new extreme value arrived or the old one left the window,
+     * the whole graph is recalculated.
+     *
+     * @param _Series The series to which the value is appended.
+     * @param _Value  The value which should be appended.
+     */
+    public void appendValue(StreamingValueLineSeries _Series, float _Value) {
+        if (isGeometryPending()) {
+            queuePoint(_Series, new ValueLinePoint(_Value));
+            return;
+        }
+
+        boolean hasValues   = _Series.getPointCount() > 0;
+        float   previousMin = hasValues ? _Series.getMin() : 0;
+        float   previousMax = hasValues ? _Series.getMax() : 0;
+
+        _Series.addValue(_Value);
+
+        float   min         = _Series.getMin();
+        float   max         = _Series.getMax();
+        boolean rangeChanged = max > mGeometry.mAppendMaxValue || min < mGeometry.mAppendMinValue
+                || (previousMax == mGeometry.mAppendMaxValue && max != previousMax)
+                || (previousMin == mGeometry.mAppendMinValue && min != previousMin);
+
+        if (!mSeries.contains(_Series) || _Series.getPointCount() <= 2 || rangeChanged) {
+            onDataChanged();
+            return;
+        }
+
+        long  first       = _Series.getFirstIndex();
+        long  origin      = _Series.getPathOrigin();
+        float widthOffset = _Series.getWidthOffset();
+
+        if (first - origin >= _Series.getCapacity()) {
+            calculateStreamingPath(_Series);
+        } else {
+            int   index = _Series.getPointCount() - 1;
+            float x     = (first + index - origin) * widthOffset;
+            float y     = calculatePointY(_Value);
+
+            if (mUseOverlapFill) {
+                // the last point of a filled Path closes it at the bottom, so it is moved to the new value
+                _Series.getPath().setLastPoint(x, y);
+                _Series.getPath().lineTo(x, mGraphHeight);
+            } else {
+                _Series.getPath().lineTo(x, y);
+            }
+
+            _Series.setCoordinatesAt(index, index * widthOffset, y);
+        }
+
+        invalidateGraph();
+    }
+
+    /**
+     * Queues a point while an asynchronous calculation is running, as the worker thread reads the
+     * series. The queued points are added as soon as the calculation is applied.
+     * @param _Series The series to which the point is appended.
+     * @param _Point  The point which should be appended.
+     * @return True if the point was queued.
+     */
+    private boolean queuePoint(ValueLineSeries _Series, ValueLinePoint _Point) {
+        if (!isGeometryPending()) {
+            return false;
+        }
+
+        mQueuedSeries.add(_Series);
+        mQueuedPoints.add(_Point);
+        return true;
+    }
+
+    /**
+     * Adds the points, which were queued during an asynchronous calculation, to their series.
+     * @return True if any point was added.
+     */
+    private boolean addQueuedPoints() {
+        int count = mQueuedSeries.size();
+
+        for (int i = 0; i < count; i++) {
+            ValueLineSeries series = mQueuedSeries.get(i);
+            ValueLinePoint  point  = mQueuedPoints.get(i);
+
+            if (series instanceof StreamingValueLineSeries) {
+                ((StreamingValueLineSeries) series).addValue(point.getValue());
+            } else {
+                series.addPoint(point);
+            }
+        }
+
+        mQueuedSeries.clear();
+        mQueuedPoints.clear();
+        return count > 0;
+    }
+
     /**
      * Resets and clears the data object.
      */
@@ -171,8 +378,8 @@ public class ValueLineChart extends BaseChart {
     public void clearChart() {
         mSeries.clear();
         mStandardValues.clear();
-        mFocusedPoint = null;
-        mLastPoint = null;
+        mFocusedIndex = -1;
+        mLastFocusedIndex = -1;
     }
 
     /**
@@ -190,7 +397,7 @@ public class ValueLineChart extends BaseChart {
 
     public void setUseCustomLegend(boolean _useCustomLegend) {
         mUseCustomLegend = _useCustomLegend;
-        onLegendDataChanged();
+        invalidateLayout(DIRTY_LEGEND);
     }
 
     /**
@@ -254,7 +461,7 @@ public class ValueLineChart extends BaseChart {
      */
     public void setUseCubic(boolean _useCubic) {
         mUseCubic = _useCubic;
-        onDataChanged();
+        invalidateLayout(DIRTY_STYLE);
     }
 
     /**
@@ -272,7 +479,7 @@ public class ValueLineChart extends BaseChart {
      */
     public void setUseOverlapFill(boolean _useOverlapFill) {
         mUseOverlapFill = _useOverlapFill;
-        onDataChanged();
+        invalidateLayout(DIRTY_STYLE);
     }
 
     /**
@@ -427,7 +634,7 @@ public class ValueLineChart extends BaseChart {
      */
     public void setShowStandardValues(boolean _showStandardValues) {
         mShowStandardValues = _showStandardValues;
-        onDataChanged();
+        invalidateLayout(DIRTY_STYLE);
     }
 
     /**
@@ -516,16 +723,26 @@ public class ValueLineChart extends BaseChart {
      */
     public void setIndicatorTextUnit(String _indicatorTextUnit) {
         mIndicatorTextUnit = _indicatorTextUnit;
+        mIndicatorTextSuffix = getIndicatorTextSuffix(_indicatorTextUnit);
         invalidateGraphOverlay();
     }
 
+    /**
+     * Returns the text which is appended to the indicator value: the unit separated by a space.
+     * @param _Unit The unit or null.
+     * @return The suffix or null, if there is no unit.
+     */
+    private static String getIndicatorTextSuffix(String _Unit) {
+        return _Unit == null || _Unit.isEmpty() ? null : " " + _Unit;
+    }
+
     public boolean isUseDynamicScaling() {
         return mUseDynamicScaling;
     }
 
     public void setUseDynamicScaling(boolean _useDynamicScaling) {
         mUseDynamicScaling = _useDynamicScaling;
-        onDataChanged();
+        invalidateLayout(DIRTY_DATA);
     }
 
     public float getScalingFactor() {
@@ -534,7 +751,7 @@ public class ValueLineChart extends BaseChart {
 
     public void setScalingFactor(float _scalingFactor) {
         mScalingFactor = _scalingFactor;
-        onDataChanged();
+        invalidateLayout(DIRTY_DATA);
     }
 
     public float getMaxZoomX() {
@@ -557,25 +774,205 @@ public class ValueLineChart extends BaseChart {
         resetZoom(true);
     }
 
-    public void resetZoom(boolean _recalculate) {
+    /**
+     * Checks if the series are downsampled before their Path is generated.
+     * @return True if downsampling is activated.
+     */
+    public boolean isUseDownsampling() {
+        return mUseDownsampling;
+    }
+
+    /**
+     * Sets if the series should be downsampled before their Path is generated. If activated, every
+     * series is reduced to about two points per pixel of the currently zoomed graph width. The point
+     * indices which are reported to the {@link IOnPointFocusedListener} are not affected.
+     * @param _useDownsampling True if the series should be downsampled.
+     */
+    public void setUseDownsampling(boolean _useDownsampling) {
+        mUseDownsampling = _useDownsampling;
+        invalidateLayout(DIRTY_DATA);
+    }
+
+    /**
+     * Checks if the Paths are generated from a min/max level of detail structure.
+     * @return True if the level of detail is used.
+     */
+    public boolean isUseLevelOfDetail() {
+        return mUseLevelOfDetail;
+    }
+
+    /**
+     * Sets if a min/max level of detail structure should be built for every series. If activated,
+     * only the currently visible part of the series is concatenated to a Path, by using the level
+     * whose buckets are about one pixel wide at the current zoom. This takes precedence over the
+     * downsampling.
+     * @param _useLevelOfDetail True if the level of detail should be used.
+     */
+    public void setUseLevelOfDetail(boolean _useLevelOfDetail) {
+        mUseLevelOfDetail = _useLevelOfDetail;
+        invalidateLayout(DIRTY_DATA);
+    }
+
+    /**
+     * Checks if the indicator follows the finger while it is dragged over the graph.
+     * @return True if scrubbing is activated.
+     */
+    public boolean isUseIndicatorScrubbing() {
+        return mUseIndicatorScrubbing;
+    }
+
+    /**
+     * Sets if the indicator should follow the finger while it is dragged over the graph. If activated,
+     * dragging with one finger moves the indicator instead of scrolling the graph. Zooming with two
+     * fingers is still possible.
+     * @param _useIndicatorScrubbing True if the indicator should follow the finger.
+     */
+    public void setUseIndicatorScrubbing(boolean _useIndicatorScrubbing) {
+        mUseIndicatorScrubbing = _useIndicatorScrubbing;
+    }
+
+    /**
+     * Checks if the geometry is calculated on a worker thread.
+     * @return True if the asynchronous calculation is activated.
+     */
+    public boolean isUseAsyncCalculation() {
+        return mUseAsyncCalculation;
+    }
+
+    /**
+     * Sets if the geometry should be calculated on a worker thread. If activated, the value range,
+     * the y-scale and the Paths are calculated into a back buffer, which is swapped in on the main
+     * thread as soon as the calculation is finished. If new data arrives in the meantime, the older
+     * calculation is cancelled. The point coordinates and the legend are still calculated on the
+     * main thread, when the back buffer is swapped in.
+     *
+     * The series must not be modified directly while a calculation is running. Data should be
+     * changed through the methods of the chart, which start a new calculation. Points which are
+     * appended while a calculation is running are queued and added as soon as it is applied.
+     *
+     * @param _useAsyncCalculation True if the geometry should be calculated on a worker thread.
+     */
+    public void setUseAsyncCalculation(boolean _useAsyncCalculation) {
+        mUseAsyncCalculation = _useAsyncCalculation;
+        invalidateLayout(DIRTY_DATA);
+    }
+
+    /**
+     * Checks if the series are calculated in parallel.
+     * @return True if the parallel calculation is activated.
+     */
+    public boolean isUseParallelCalculation() {
+        return mUseParallelCalculation;
+    }
+
+    /**
+     * Sets if the series should be calculated in parallel. If activated, the value ranges, Paths and
+     * point coordinates of the series are calculated on a thread pool with one thread per processor
+     * core. Charts with a single series or less than {@value #PARALLEL_POINT_THRESHOLD} points in
+     * total are still calculated on a single thread. The results are equal to the sequential
+     * calculation.
+     *
+     * @param _useParallelCalculation True if the series should be calculated in parallel.
+     */
+    public void setUseParallelCalculation(boolean _useParallelCalculation) {
+        mUseParallelCalculation = _useParallelCalculation;
+        invalidateLayout(DIRTY_DATA);
+    }
+
+    /**
+     * Checks if the y-axis is scaled to the values of the visible part of the graph.
+     * @return True if the automatic scaling is activated.
+     */
+    public boolean isUseVisibleAutoScale() {
+        return mUseVisibleAutoScale;
+    }
+
+    /**
+     * Sets if the y-axis should be scaled to the values of the visible part of the graph. If
+     * activated, the minimum and maximum of the visible points are queried from a min/max pyramid
+     * of every series while the graph is zoomed or scrolled, and the vertical scaling is animated to
+     * the new range. The Paths are not generated again for a new range.
+     *
+     * Points which are appended while the automatic scaling is active cause a complete recalculation.
+     *
+     * @param _useVisibleAutoScale True if the y-axis should be scaled to the visible values.
+     */
+    public void setUseVisibleAutoScale(boolean _useVisibleAutoScale) {
+        mUseVisibleAutoScale = _useVisibleAutoScale;
+
+        if (!_useVisibleAutoScale) {
+            mAutoScaleAnimator.cancel();
+            mHasVisibleRange  = false;
+            mAutoScaleY       = 1.f;
+            mAutoTranslationY = 0.f;
+        }
+        invalidateLayout(DIRTY_DATA);
+    }
+
+    /**
+     * Zooms and scrolls the graph horizontally, so the given time range of the timed series fills
+     * the width of the graph. The range is limited to the time range of the data and the zoom is
+     * limited by the maximum x-zoom. Only the points which fall into the visible range are searched
+     * by their timestamps and concatenated to a Path.
+     *
+     * Has no effect if the chart does not contain a {@link TimedValueLineSeries}.
+     *
+     * @param _start The timestamp at the left edge of the graph.
+     * @param _end   The timestamp at the right edge of the graph.
+     */
+    public void setVisibleTimeRange(long _start, long _end) {
+        ValueLineGeometry geometry = mGeometry;
+
+        if (_end <= _start) {
+            throw new IllegalArgumentException("The end of the time range has to be after its start");
+        }
+
+        if (!geometry.mHasTimeRange || !containsPoints()) {
+            return;
+        }
+
+        float left   = geometry.calculateTimeX(Math.max(_start, geometry.mTimeStart));
+        float right  = geometry.calculateTimeX(Math.min(_end, geometry.mTimeEnd));
+        float scaleX = right > left ? mGraphWidth / (right - left) : mMaxZoomX;
 
-        mDrawMatrixValues = new float[] {
-                1f, 0f, 0f,
-                0f, 1f, 0f,
-                0f, 0f, 1f};
+        mDrawMatrix.getValues(mDrawMatrixValues);
+        mDrawMatrixValues[0] = scaleX;
+        mDrawMatrixValues[2] = -left * Math.min(scaleX, mMaxZoomX);
         mDrawMatrix.setValues(mDrawMatrixValues);
+        constrainView();
 
-        if(containsPoints() && _recalculate) {
-            recalculateXCoordinates(mGraphWidth * mDrawMatrixValues[0]);
-            if (calculateLegendBounds())
-                Utils.calculateLegendInformation(mSeries.get(0).getSeries(), 0, mGraphWidth * mDrawMatrixValues[0], mLegendPaint);
+        updateSeriesPaths();
+        mLegendLayout.invalidatePositions();
 
+        if (mFocusedIndex >= 0) {
             calculateValueTextHeight();
         }
 
         invalidateGlobal();
     }
 
+    public void resetZoom(boolean _recalculate) {
+
+        // the existing arrays and matrices are reused, so resetting the zoom does not allocate
+        mDrawMatrix.reset();
+        mDrawMatrix.getValues(mDrawMatrixValues);
+
+        if(containsPoints() && _recalculate) {
+            if (mUseDownsampling || mUseLevelOfDetail || needsVisibleSpanUpdate()) {
+                resampleSeries();
+            }
+
+            mLegendLayout.invalidatePositions();
+            updateVisibleAutoScale(true);
+
+            if (mFocusedIndex >= 0) {
+                calculateValueTextHeight();
+            }
+        }
+
+        invalidateGlobal();
+    }
+
     /**
      * Implement this to do your drawing.
      *
@@ -613,6 +1010,24 @@ public class ValueLineChart extends BaseChart {
         }
     }
 
+    /**
+     * A changed legend only lays out the legend again. Every other change calculates the geometry
+     * again, which includes the legend of the series.
+     * @param _Flags The combination of flags which were passed to {@link #invalidateLayout(int)}.
+     */
+    @Override
+    protected void onLayoutInvalidated(int _Flags) {
+        if ((_Flags & ~DIRTY_LEGEND) != 0) {
+            onDataChanged();
+        } else {
+            mLegendLayout.reset();
+        }
+
+        if ((_Flags & DIRTY_LEGEND) != 0 && mUseCustomLegend) {
+            onLegendDataChanged();
+        }
+    }
+
     /**
      * This is the main entry point after the graph has been inflated. Used to initialize the graph
      * and its corresponding members.
@@ -655,7 +1070,7 @@ public class ValueLineChart extends BaseChart {
                 mRevealValue = animation.getAnimatedFraction();
 
                 mDrawMatrix.reset();
-                mDrawMatrix.setScale(1, 1.f * mRevealValue, 0, mGraphHeight - mNegativeOffset);
+                mDrawMatrix.setScale(1, 1.f * mRevealValue, 0, mGraphHeight - mGeometry.mNegativeOffset);
 
                 mGraph.invalidate();
             }
@@ -681,6 +1096,22 @@ public class ValueLineChart extends BaseChart {
             }
         });
 
+        mAutoScaleAnimator = ValueAnimator.ofFloat(0, 1);
+        mAutoScaleAnimator.setDuration(AUTO_SCALE_ANIMATION_TIME);
+        mAutoScaleAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
+            @Override
+            public void onAnimationUpdate(ValueAnimator animation) {
+                float fraction = animation.getAnimatedFraction();
+
+                mVisibleMinValue = mStartMinValue + (mTargetMinValue - mStartMinValue) * fraction;
+                mVisibleMaxValue = mStartMaxValue + (mTargetMaxValue - mStartMaxValue) * fraction;
+                calculateAutoScaleTransformation();
+
+                mGraph.invalidate();
+                mGraphOverlay.invalidate();
+            }
+        });
+
         // The scroller doesn't have any built-in animation functions--it just supplies
         // values when we ask it to. So we have to have a way to call it every frame
         // until the fling ends. This code (ab)uses a ValueAnimator object to generate
@@ -725,231 +1156,1142 @@ public class ValueLineChart extends BaseChart {
      *
      * Calculates various offsets and positions for different overlay features based on the graph settings.
      * After the calculation the Path is generated as a normal path or cubic path (Based on 'egUseCubic' attribute).
+     * If the asynchronous calculation is activated, the geometry is calculated on a worker thread and
+     * applied as soon as it is finished.
      */
     @Override
     protected void onDataChanged() {
+        if (deferDataChanged()) {
+            return;
+        }
 
-        if(!mSeries.isEmpty()) {
-            int   seriesCount  = mSeries.size();
-            float maxValue     = 0.f;
-            float minValue     = Float.MAX_VALUE;
-            mNegativeValue     = 0.f;
-            mNegativeOffset    = 0.f;
-            mHasNegativeValues = false;
-
-            // calculate the maximum and minimum value present in data
-            for (ValueLineSeries series : mSeries) {
-                for (ValueLinePoint point : series.getSeries()) {
-
-                    if (point.getValue() > maxValue)
-                        maxValue = point.getValue();
-
-                    if (point.getValue() < mNegativeValue)
-                        mNegativeValue = point.getValue();
+        // the queued points are part of the next calculation, as long as no worker reads the series
+        if (!isGeometryPending()) {
+            addQueuedPoints();
+        }
 
-                    if (point.getValue() < minValue)
-                        minValue = point.getValue();
-                }
+        if(!mSeries.isEmpty()) {
+            if (mUseAsyncCalculation) {
+                calculateGeometryAsync();
+                return;
             }
 
-            // check if the standardvalue is greater than all other values
-            if(mShowStandardValues) {
-                for (StandardValue value : mStandardValues) {
+            int version = mGeometryVersion.incrementAndGet();
+            captureSettings(mGeometry);
+            calculateGeometry(mSeries, mStandardValues, mGeometry, version);
+            mAppliedGeometryVersion = version;
+            applyGeometry();
+        }
+
+        super.onDataChanged();
+    }
 
-                    if(value.getValue() > maxValue)
-                        maxValue = value.getValue();
+    /**
+     * Calculates the geometry into the back buffer on the worker thread. A calculation which is still
+     * pending is cancelled, and the results of calculations which were started before the newest one
+     * are dropped. Points which are appended during the calculation are queued, so the worker thread
+     * is the only one which reads the series. The lists of series and standard values are copied into
+     * the lists of the geometry, so no objects are allocated apart from the task itself. If the calculation fails, the error is logged and the
+     * last valid geometry is kept.
+     */
+    private void calculateGeometryAsync() {
+        final int               version  = mGeometryVersion.incrementAndGet();
+        final ValueLineGeometry geometry = mBackGeometry;
+
+        // a worker, which is still busy with an outdated calculation, might read the back buffer
+        synchronized (mSettings) {
+            captureSettings(mSettings);
+            mSettings.setData(mSeries, mStandardValues);
+        }
 
-                    if (value.getValue() < mNegativeValue)
-                        mNegativeValue = value.getValue();
+        if (mGeometryTask != null) {
+            mGeometryTask.cancel(false);
+        }
 
-                    if (value.getValue() < minValue)
-                        minValue = value.getValue();
+        mGeometryTask = GEOMETRY_EXECUTOR.submit(new Runnable() {
+            @Override
+            public void run() {
+                synchronized (mSettings) {
+                    geometry.copySettings(mSettings);
                 }
-            }
 
+                try {
+                    if (!calculateGeometry(geometry.mSeries, geometry.mStandardValues, geometry, version)) {
+                        return;
+                    }
+                } catch (RuntimeException e) {
+                    // the Future of the task would swallow the exception
+                    Log.e(LOG_TAG, "The geometry could not be calculated", e);
+                    post(new Runnable() {
+                        @Override
+                        public void run() {
+                            // the queued points are added without a recalculation, which would fail again
+                            if (version == mGeometryVersion.get()) {
+                                mAppliedGeometryVersion = version;
+                                addQueuedPoints();
+                            }
+                        }
+                    });
+                    return;
+                }
 
-            if(!mUseDynamicScaling) {
-                minValue = 0;
-            }
-            else {
-                minValue *= mScalingFactor;
-            }
-
-            // check if values below zero were found
-            if(mNegativeValue < 0) {
-                mHasNegativeValues = true;
-                maxValue += (mNegativeValue * -1);
-                minValue = 0;
+                post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (version == mGeometryVersion.get()) {
+                            mBackGeometry = mGeometry;
+                            mGeometry     = geometry;
+                            mAppliedGeometryVersion = version;
+                            applyGeometry();
+                            invalidateGlobal();
+
+                            if (addQueuedPoints()) {
+                                onDataChanged();
+                            }
+                        }
+                    }
+                });
             }
+        });
+    }
 
+    /**
+     * Copies the settings of the chart, which are read during the calculation, into the geometry.
+     * @param _Geometry The geometry which is calculated next.
+     */
+    private void captureSettings(ValueLineGeometry _Geometry) {
+        _Geometry.mGraphWidth             = mGraphWidth;
+        _Geometry.mGraphHeight            = mGraphHeight;
+        _Geometry.mUsableGraphHeight      = mUsableGraphHeight;
+        _Geometry.mShowStandardValues     = mShowStandardValues;
+        _Geometry.mUseDynamicScaling      = mUseDynamicScaling;
+        _Geometry.mScalingFactor          = mScalingFactor;
+        _Geometry.mUseCubic               = mUseCubic;
+        _Geometry.mFirstMultiplier        = mFirstMultiplier;
+        _Geometry.mSecondMultiplier       = mSecondMultiplier;
+        _Geometry.mUseOverlapFill         = mUseOverlapFill;
+        _Geometry.mUseLevelOfDetail       = mUseLevelOfDetail;
+        _Geometry.mUseVisibleAutoScale    = mUseVisibleAutoScale;
+        _Geometry.mUseDownsampling        = mUseDownsampling;
+        _Geometry.mUseParallelCalculation = mUseParallelCalculation;
+    }
 
-            float heightMultiplier  = mUsableGraphHeight / (maxValue - minValue);
+    /**
+     * Checks if an asynchronous calculation was started, whose result was not applied yet. As long
+     * as the calculation is pending, appended points can't extend the current Paths.
+     * @return True if a newer geometry will be applied.
+     */
+    private boolean isGeometryPending() {
+        return mAppliedGeometryVersion != mGeometryVersion.get();
+    }
 
-            // calculate the offset
-            if(mHasNegativeValues) {
-                mNegativeOffset = (mNegativeValue * -1) * heightMultiplier;
+    /**
+     * Calculates the value range, the y-scale, the standard value positions and the Paths of all
+     * series into the given geometry. Does not modify the state of the chart or the series and only
+     * reads the settings which were captured in the geometry, so it can be called from a worker thread.
+     *
+     * @param _Series         The series for which the geometry is calculated.
+     * @param _StandardValues The standard values.
+     * @param _Geometry       The geometry in which the results are stored.
+     * @param _Version        The version of the calculation.
+     * @return False if the calculation was cancelled, because a newer one was started.
+     */
+    private boolean calculateGeometry(List<ValueLineSeries> _Series, List<StandardValue> _StandardValues,
+                                      ValueLineGeometry _Geometry, int _Version) {
+        float   maxValue       = 0.f;
+        float   minValue       = Float.MAX_VALUE;
+        float   negativeValue;
+        float   negativeOffset = 0.f;
+        boolean parallel       = useParallelCalculation(_Series, _Geometry);
+
+        _Geometry.ensureSeriesCount(_Series.size());
+
+        // calculate the maximum and minimum value of every series and reduce them afterwards
+        if (parallel) {
+            if (!calculateRangesParallel(_Series, _Geometry, _Version)) {
+                return false;
             }
-
-            // calculate the y position for standardValue
-            if(mShowStandardValues) {
-                for (StandardValue value : mStandardValues) {
-                    value.setY((int) (mGraphHeight - mNegativeOffset - ((value.getValue() - minValue) * heightMultiplier)));
-                }
+        } else {
+            for (int i = 0; i < _Series.size(); i++) {
+                calculateSeriesRange(_Series.get(i), i, _Geometry);
             }
+        }
 
-            for (ValueLineSeries series : mSeries) {
-
-                int   seriesPointCount  = series.getSeries().size();
-
-                // check if more than one point is available
-                if (seriesPointCount <= 1) {
-                    Log.w(LOG_TAG, "More than one point should be available!");
-                }
-                else {
-
-                    float widthOffset = (float) mGraphWidth / (float) seriesPointCount;
-                    widthOffset += widthOffset / seriesPointCount;
-                    float currentOffset = 0;
-                    series.setWidthOffset(widthOffset);
-
-                    // used to store first point and set it later as ending point, if a graph fill is selected
-                    float firstX = currentOffset;
-                    float firstY = mGraphHeight - ((series.getSeries().get(0).getValue() - minValue) * heightMultiplier);
+        for (int i = 0; i < _Series.size(); i++) {
+            maxValue = Math.max(maxValue, _Geometry.mSeriesMaxValues[i]);
+            minValue = Math.min(minValue, _Geometry.mSeriesMinValues[i]);
+        }
+        negativeValue = Math.min(0.f, minValue);
 
-                    Path path = new Path();
-                    path.moveTo(firstX, firstY);
-                    series.getSeries().get(0).setCoordinates(new Point2D(firstX, firstY));
+        // check if the standardvalue is greater than all other values
+        if(_Geometry.mShowStandardValues) {
+            for (int i = 0; i < _StandardValues.size(); i++) {
+                StandardValue value = _StandardValues.get(i);
 
-                    // If a cubic curve should be drawn then calculate cubic path
-                    // If not then just draw basic lines
-                    if (mUseCubic) {
-                        Point2D P1 = new Point2D();
-                        Point2D P2 = new Point2D();
-                        Point2D P3 = new Point2D();
+                if(value.getValue() > maxValue)
+                    maxValue = value.getValue();
 
-                        for (int i = 0; i < seriesPointCount - 1; i++) {
+                if (value.getValue() < negativeValue)
+                    negativeValue = value.getValue();
 
-                            int i3 = (seriesPointCount - i) < 3 ? i + 1 : i + 2;
-                            float offset2 = (seriesPointCount - i) < 3 ? mGraphWidth : currentOffset + widthOffset;
-                            float offset3 = (seriesPointCount - i) < 3 ? mGraphWidth : currentOffset + (2*widthOffset);
+                if (value.getValue() < minValue)
+                    minValue = value.getValue();
+            }
+        }
 
-                            P1.setX(currentOffset);
-                            P1.setY(mGraphHeight - ((series.getSeries().get(i).getValue() - minValue) * heightMultiplier));
 
-                            P2.setX(offset2);
-                            P2.setY(mGraphHeight - ((series.getSeries().get(i + 1).getValue() - minValue) * heightMultiplier));
-                            Utils.calculatePointDiff(P1, P2, P1, mSecondMultiplier);
+        // the range in which points can be appended without a rescale
+        _Geometry.mAppendMaxValue = maxValue;
+        _Geometry.mAppendMinValue = negativeValue < 0 ? negativeValue : (_Geometry.mUseDynamicScaling ? minValue : 0);
 
-                            P3.setX(offset3);
-                            P3.setY(mGraphHeight - ((series.getSeries().get(i3).getValue() - minValue) * heightMultiplier));
-                            Utils.calculatePointDiff(P2, P3, P3, mFirstMultiplier);
+        if(!_Geometry.mUseDynamicScaling) {
+            minValue = 0;
+        }
+        else {
+            minValue *= _Geometry.mScalingFactor;
+        }
 
-                            currentOffset += widthOffset;
+        // check if values below zero were found
+        if(negativeValue < 0) {
+            maxValue += (negativeValue * -1);
+            minValue = 0;
+        }
 
-                            series.getSeries().get(i + 1).setCoordinates(new Point2D(P2.getX(), P2.getY()));
-                            path.cubicTo(P1.getX(), P1.getY(), P2.getX(), P2.getY(), P3.getX(), P3.getY());
-                        }
-                    } else {
-                        boolean first = true;
-                        int count = 1;
 
-                        for (ValueLinePoint point : series.getSeries()) {
-                            if (first) {
-                                first = false;
-                                continue;
-                            }
-                            currentOffset += widthOffset;
-                            if (count == seriesPointCount - 1) {
-                                // if the last offset is smaller than the width, then the offset should be as long as the graph
-                                // to prevent a graph drop
-                                if (currentOffset < mGraphWidth) {
-                                    currentOffset = mGraphWidth;
-                                }
-                            }
-                            point.setCoordinates(new Point2D(currentOffset, mGraphHeight - ((point.getValue() - minValue) * heightMultiplier)));
-                            path.lineTo(point.getCoordinates().getX(), point.getCoordinates().getY());
-                            count++;
-                        }
-                    }
+        float heightMultiplier  = _Geometry.mUsableGraphHeight / (maxValue - minValue);
 
-                    if (mUseOverlapFill) {
-                        path.lineTo(mGraphWidth, mGraphHeight);
-                        path.lineTo(0, mGraphHeight);
-                        path.lineTo(firstX, firstY);
-                    }
+        // calculate the offset
+        if(negativeValue < 0) {
+            negativeOffset = (negativeValue * -1) * heightMultiplier;
+        }
 
-                    series.setPath(path);
-                }
+        _Geometry.mMinValue          = minValue;
+        _Geometry.mHeightMultiplier  = heightMultiplier;
+        _Geometry.mHasNegativeValues = negativeValue < 0;
+        _Geometry.mNegativeValue     = negativeValue;
+        _Geometry.mNegativeOffset    = negativeOffset;
+
+        // calculate the y position for standardValue
+        _Geometry.ensureStandardValueCount(_StandardValues.size());
+        if(_Geometry.mShowStandardValues) {
+            for (int i = 0; i < _StandardValues.size(); i++) {
+                float value = _StandardValues.get(i).getValue();
+                _Geometry.mStandardValueYs[i] = (int) (_Geometry.mGraphHeight - negativeOffset - ((value - minValue) * heightMultiplier));
             }
+        }
 
-            if(calculateLegendBounds())
-                Utils.calculateLegendInformation(mSeries.get(0).getSeries(), 0, mGraphWidth, mLegendPaint);
-
-            // set the first point for the indicator
-            if(mShowIndicator && mSeries.size() == 1) {
-                int size = mSeries.get(0).getSeries().size();
-                int index;
+        calculateTimeRange(_Series, _Geometry);
 
-                // Only calculate if more than one point is available
-                if (size > 1) {
-                    // position the indicator in the middle at the nearest value
-                    if (size == 3) {
-                        index = size / 2;
-                    } else {
-                        index = (size / 2) - 1;
-                    }
+        // the zoom is reset after the calculation, so the whole graph is visible
+        _Geometry.mPathSpanLeft  = 0;
+        _Geometry.mPathSpanRight = _Geometry.mGraphWidth;
 
-                    mFocusedPoint = mSeries.get(0).getSeries().get(index);
-                    mTouchedArea = mFocusedPoint.getCoordinates();
+        if (parallel) {
+            return calculateSeriesGeometriesParallel(_Series, _Geometry, _Version);
+        }
 
-                    calculateValueTextHeight();
-                }
+        for (int i = 0; i < _Series.size(); i++) {
+            if (_Version != mGeometryVersion.get()) {
+                return false;
             }
 
-            resetZoom(false);
+            calculateSeriesGeometry(_Series.get(i), i, _Geometry);
         }
 
-        super.onDataChanged();
+        return true;
     }
 
-    private void recalculateXCoordinates(float _GraphWidth) {
-        int seriesPointCount = mSeries.get(0).getSeries().size();
-        float widthOffset = _GraphWidth / (float) seriesPointCount;
-        widthOffset += widthOffset / seriesPointCount;
-        float currentOffset = 0;
+    /**
+     * Calculates the time range of all timed series, which is mapped onto the width of the graph.
+     * @param _Series   The series of the chart.
+     * @param _Geometry The geometry in which the results are stored.
+     */
+    private void calculateTimeRange(List<ValueLineSeries> _Series, ValueLineGeometry _Geometry) {
+        long timeStart = Long.MAX_VALUE;
+        long timeEnd   = Long.MIN_VALUE;
+
+        for (int i = 0; i < _Series.size(); i++) {
+            ValueLineSeries series = _Series.get(i);
+            if (series instanceof TimedValueLineSeries && series.getPointCount() > 0) {
+                TimedValueLineSeries timed = (TimedValueLineSeries) series;
+                timeStart = Math.min(timeStart, timed.getTimestampAt(0));
+                timeEnd   = Math.max(timeEnd, timed.getTimestampAt(timed.getPointCount() - 1));
+            }
+        }
 
-        for (ValueLinePoint point : mSeries.get(0).getSeries()) {
-            point.getCoordinates().setX(currentOffset);
-            currentOffset += widthOffset;
+        _Geometry.mHasTimeRange = timeStart <= timeEnd;
+        if (_Geometry.mHasTimeRange) {
+            _Geometry.mTimeStart      = timeStart;
+            _Geometry.mTimeEnd        = timeEnd;
+            _Geometry.mTimeMultiplier = (double) _Geometry.mGraphWidth / Math.max(1, timeEnd - timeStart);
         }
     }
 
-    private boolean calculateLegendBounds() {
-        int index = 0;
-        int size = mSeries.get(0).getSeries().size();
-
-        // Only calculate if more than one point is available
-        if (size > 1) {
+    /**
+     * Calculates the maximum and minimum value of a series into the geometry. The maximum is at
+     * least zero. If the series is empty, the minimum is Float.MAX_VALUE.
+     * @param _Series   The series.
+     * @param _Index    Index of the series in the chart.
+     * @param _Geometry The geometry in which the results are stored.
+     */
+    private static void calculateSeriesRange(ValueLineSeries _Series, int _Index, ValueLineGeometry _Geometry) {
+        float maxValue = 0.f;
+        float minValue = Float.MAX_VALUE;
 
-            for (ValueLinePoint valueLinePoint : mSeries.get(0).getSeries()) {
-                if (!(index == 0 || index == size - 1)) {
-                    valueLinePoint.setLegendBounds(new RectF(
-                            valueLinePoint.getCoordinates().getX() - mSeries.get(0).getWidthOffset() / 2,
-                            0,
-                            valueLinePoint.getCoordinates().getX() + mSeries.get(0).getWidthOffset() / 2,
-                            mLegendHeight));
-                } else {
-                    valueLinePoint.setIgnore(true);
-                }
+        if (_Series instanceof StreamingValueLineSeries) {
+            StreamingValueLineSeries stream = (StreamingValueLineSeries) _Series;
 
-                index++;
+            // the range of the window is already known
+            if (stream.getPointCount() > 0) {
+                maxValue = Math.max(maxValue, stream.getMax());
+                minValue = stream.getMin();
             }
+        } else {
+            int pointCount = _Series.getPointCount();
+            for (int i = 0; i < pointCount; i++) {
+                float value = _Series.getValueAt(i);
 
-            return true;
+                if (value > maxValue)
+                    maxValue = value;
+
+                if (value < minValue)
+                    minValue = value;
+            }
+        }
+
+        _Geometry.mSeriesMaxValues[_Index] = maxValue;
+        _Geometry.mSeriesMinValues[_Index] = minValue;
+    }
+
+    /**
+     * Calculates the width offset, the level of detail structure and the Path of a series into the
+     * geometry. Only the entries of the series in the geometry are written, so the series can be
+     * calculated in parallel.
+     * @param _Series   The series.
+     * @param _Index    Index of the series in the chart.
+     * @param _Geometry The geometry in which the results are stored.
+     */
+    private void calculateSeriesGeometry(ValueLineSeries _Series, int _Index, ValueLineGeometry _Geometry) {
+        int seriesPointCount = _Series.getPointCount();
+        int spacingCount     = getSpacingCount(_Series);
+
+        // check if more than one point is available
+        if (seriesPointCount <= 1) {
+            Log.w(LOG_TAG, "More than one point should be available!");
+
+            // the series must not keep the Path of the other geometry, which is calculated next
+            if (!(_Series instanceof StreamingValueLineSeries)) {
+                clearSeriesPath(_Index, _Geometry);
+            }
+        }
+        else if (_Series instanceof StreamingValueLineSeries) {
+            // the Path of a streaming series is generated when the geometry is applied
+            _Geometry.mWidthOffsets[_Index] = (float) _Geometry.mGraphWidth / (float) (_Series.getCapacity() - 1);
         }
         else {
+
+            float widthOffset;
+
+            if (_Series instanceof TimedValueLineSeries) {
+                // the average offset, which is used to choose the level of detail and the legend width
+                TimedValueLineSeries series = (TimedValueLineSeries) _Series;
+                widthOffset = (_Geometry.calculateTimeX(series.getTimestampAt(seriesPointCount - 1))
+                        - _Geometry.calculateTimeX(series.getTimestampAt(0))) / (seriesPointCount - 1);
+                widthOffset = Math.max(widthOffset, MIN_TIMED_WIDTH_OFFSET);
+            } else {
+                widthOffset = (float) _Geometry.mGraphWidth / (float) spacingCount;
+                widthOffset += widthOffset / spacingCount;
+            }
+            _Geometry.mWidthOffsets[_Index] = widthOffset;
+
+            // the pyramid also answers the range queries of the automatic scaling
+            if (_Geometry.mUseLevelOfDetail || _Geometry.mUseVisibleAutoScale) {
+                if (_Geometry.mPyramids[_Index] == null) {
+                    _Geometry.mPyramids[_Index] = new MinMaxPyramid();
+                }
+                _Geometry.mPyramids[_Index].build(_Series);
+            }
+
+            calculateSeriesPath(_Series, _Index, 1.f, _Geometry);
+        }
+    }
+
+    /**
+     * Checks if the series should be calculated in parallel. Charts with a single series or only a
+     * few points are calculated on the current thread, as the parallel execution would cost more
+     * than it saves.
+     * @param _Series   The series of the chart.
+     * @param _Geometry The geometry which holds the settings.
+     * @return True if the parallel calculation should be used.
+     */
+    private static boolean useParallelCalculation(List<ValueLineSeries> _Series, ValueLineGeometry _Geometry) {
+        if (!_Geometry.mUseParallelCalculation || _Series.size() < 2) {
             return false;
         }
+
+        int pointCount = 0;
+        for (int i = 0; i < _Series.size(); i++) {
+            pointCount += _Series.get(i).getPointCount();
+        }
+        return pointCount >= PARALLEL_POINT_THRESHOLD;
+    }
+
+    /**
+     * Calculates the value range of every series on the parallel executor.
+     * @return False if the calculation was cancelled, because a newer one was started.
+     */
+    private boolean calculateRangesParallel(List<ValueLineSeries> _Series, ValueLineGeometry _Geometry, int _Version) {
+        return invokeSeriesTasks(_Series, _Geometry, TASK_STEP_RANGE, _Version);
+    }
+
+    /**
+     * Calculates the width offsets, level of detail structures and Paths of every series on the
+     * parallel executor.
+     * @return False if the calculation was cancelled, because a newer one was started.
+     */
+    private boolean calculateSeriesGeometriesParallel(List<ValueLineSeries> _Series, ValueLineGeometry _Geometry,
+                                                      int _Version) {
+        return invokeSeriesTasks(_Series, _Geometry, TASK_STEP_GEOMETRY, _Version);
+    }
+
+    /**
+     * Calculates the point coordinates of every series on the parallel executor. Every task only
+     * writes into its own series.
+     */
+    private void calculateCoordinatesParallel(ValueLineGeometry _Geometry) {
+        invokeSeriesTasks(mSeries, _Geometry, TASK_STEP_COORDINATES, mAppliedGeometryVersion);
+    }
+
+    /**
+     * Runs one step of the calculation for every series on the parallel executor. The tasks are kept
+     * in the geometry and reused, so they are only created when the amount of series grows.
+     * @param _Series   The series.
+     * @param _Geometry The geometry which is calculated.
+     * @param _Step     The step which is calculated, one of the TASK_STEP constants.
+     * @param _Version  The version of the calculation.
+     * @return False if the calculation was cancelled, because a newer one was started.
+     */
+    private boolean invokeSeriesTasks(List<ValueLineSeries> _Series, ValueLineGeometry _Geometry, int _Step, int _Version) {
+        List<Callable<Void>> tasks = _Geometry.mSeriesTasks;
+
+        while (tasks.size() < _Series.size()) {
+            tasks.add(new SeriesTask(_Geometry, tasks.size()));
+        }
+        while (tasks.size() > _Series.size()) {
+            tasks.remove(tasks.size() - 1);
+        }
+
+        _Geometry.mTaskSeries  = _Series;
+        _Geometry.mTaskStep    = _Step;
+        _Geometry.mTaskVersion = _Version;
+
+        return invokeParallel(tasks) && _Version == mGeometryVersion.get();
+    }
+
+    /**
+     * Runs the tasks on the parallel executor and waits until all of them are finished. An exception
+     * of a task is rethrown on the calling thread.
+     * @param _Tasks The tasks.
+     * @return False if the calling thread was interrupted while waiting.
+     */
+    private static boolean invokeParallel(List<Callable<Void>> _Tasks) {
+        try {
+            List<Future<Void>> futures = PARALLEL_EXECUTOR.invokeAll(_Tasks);
+            for (int i = 0; i < futures.size(); i++) {
+                futures.get(i).get();
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Calculates one step of a single series on the parallel executor. The step, the series and the
+     * version are read from the geometry, so the same task can be used for every calculation.
+     */
+    private final class SeriesTask implements Callable<Void> {
+
+        SeriesTask(ValueLineGeometry _Geometry, int _Index) {
+            mTaskGeometry = _Geometry;
+            mIndex        = _Index;
+        }
+
+        @Override
+        public Void call() {
+            ValueLineGeometry geometry = mTaskGeometry;
+            ValueLineSeries   series   = geometry.mTaskSeries.get(mIndex);
+
+            switch (geometry.mTaskStep) {
+                case TASK_STEP_RANGE:
+                    if (geometry.mTaskVersion == mGeometryVersion.get()) {
+                        calculateSeriesRange(series, mIndex, geometry);
+                    }
+                    break;
+                case TASK_STEP_GEOMETRY:
+                    if (geometry.mTaskVersion == mGeometryVersion.get()) {
+                        calculateSeriesGeometry(series, mIndex, geometry);
+                    }
+                    break;
+                case TASK_STEP_COORDINATES:
+                    if (series.getPointCount() > 1 && !(series instanceof StreamingValueLineSeries)) {
+                        calculateSeriesCoordinates(series, mIndex, geometry);
+                    }
+                    break;
+            }
+            return null;
+        }
+
+        private final ValueLineGeometry mTaskGeometry;
+        private final int               mIndex;
+    }
+
+    /**
+     * Creates an executor for the calculations of all charts. Its threads are daemon threads, which
+     * are only started when a task is submitted and terminate after they were idle for
+     * {@link #EXECUTOR_KEEP_ALIVE_TIME} seconds. So the executor lives as long as the process, but
+     * does not keep any threads alive and never has to be shut down.
+     * @param _Name        The name of the threads.
+     * @param _ThreadCount The maximum amount of threads.
+     * @param _Priority    The priority of the threads.
+     * @return The executor.
+     */
+    private static ExecutorService createExecutor(final String _Name, int _ThreadCount, final int _Priority) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(_ThreadCount, _ThreadCount,
+                EXECUTOR_KEEP_ALIVE_TIME, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+                new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable _Runnable) {
+                        Thread thread = new Thread(_Runnable, _Name);
+                        thread.setDaemon(true);
+                        thread.setPriority(_Priority);
+                        return thread;
+                    }
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Calculates the unzoomed point coordinates of a series.
+     * @param _Series   The series.
+     * @param _Index    Index of the series in the chart.
+     * @param _Geometry The geometry which is used to calculate the coordinates.
+     */
+    private void calculateSeriesCoordinates(ValueLineSeries _Series, int _Index, ValueLineGeometry _Geometry) {
+        int   seriesPointCount = _Series.getPointCount();
+        int   spacingCount     = getSpacingCount(_Series);
+        float widthOffset      = _Geometry.mWidthOffsets[_Index];
+
+        for (int j = 0; j < seriesPointCount; j++) {
+            _Series.setCoordinatesAt(j,
+                    calculatePointX(_Series, j, spacingCount, widthOffset, _Geometry),
+                    _Geometry.calculatePointY(_Series.getValueAt(j)));
+        }
+    }
+
+    /**
+     * Applies the current geometry to the chart and its series. Calculates the point coordinates,
+     * the legend and the indicator position, which are shared with the drawing.
+     */
+    private void applyGeometry() {
+        ValueLineGeometry geometry = mGeometry;
+
+        // calculate the y position for standardValue
+        if(mShowStandardValues) {
+            for (int i = 0; i < mStandardValues.size(); i++) {
+                mStandardValues.get(i).setY(geometry.mStandardValueYs[i]);
+            }
+        }
+
+        boolean parallel = useParallelCalculation(mSeries, geometry);
+
+        for (int i = 0; i < mSeries.size(); i++) {
+            ValueLineSeries series = mSeries.get(i);
+
+            if (series.getPointCount() <= 1) {
+                if (!(series instanceof StreamingValueLineSeries)) {
+                    applySeriesPath(series, i, geometry);
+                }
+                continue;
+            }
+
+            series.setWidthOffset(geometry.mWidthOffsets[i]);
+
+            if (series instanceof StreamingValueLineSeries) {
+                calculateStreamingPath((StreamingValueLineSeries) series);
+                continue;
+            }
+
+            if (!parallel) {
+                calculateSeriesCoordinates(series, i, geometry);
+            }
+
+            applySeriesPath(series, i, geometry);
+        }
+
+        if (parallel) {
+            calculateCoordinatesParallel(geometry);
+        }
+
+        mSampledScaleX = 1.f;
+        mLegendLayout.reset();
+
+        // the focused point might not exist anymore
+        if (mFocusedIndex >= getLabeledPointCount()) {
+            mFocusedIndex = -1;
+            mLastFocusedIndex = -1;
+        }
+
+        // set the first point for the indicator
+        if(mShowIndicator && mSeries.size() == 1) {
+            int size = getLabeledPointCount();
+            int index;
+
+            // Only calculate if more than one point is available
+            if (size > 1) {
+                // position the indicator in the middle at the nearest value
+                if (size == 3) {
+                    index = size / 2;
+                } else {
+                    index = (size / 2) - 1;
+                }
+
+                mFocusedIndex = index;
+
+                calculateValueTextHeight();
+            }
+        }
+
+        resetZoom(false);
+        updateVisibleAutoScale(false);
+    }
+
+    /**
+     * Stores an empty Path for a series, which does not have enough points to be drawn.
+     * @param _Index    Index of the series in the chart.
+     * @param _Geometry The geometry in which the results are stored.
+     */
+    private static void clearSeriesPath(int _Index, ValueLineGeometry _Geometry) {
+        if (_Geometry.mPaths[_Index] == null) {
+            _Geometry.mPaths[_Index] = new Path();
+        } else {
+            _Geometry.mPaths[_Index].rewind();
+        }
+    }
+
+    /**
+     * Sets the Path, which was calculated into the geometry, on the series.
+     * @param _Series   The series.
+     * @param _Index    Index of the series in the chart.
+     * @param _Geometry The geometry which holds the results.
+     */
+    private void applySeriesPath(ValueLineSeries _Series, int _Index, ValueLineGeometry _Geometry) {
+        _Series.setPath(_Geometry.mPaths[_Index]);
+    }
+
+    /**
+     * Generates the Path for the given series as a normal path or cubic path (Based on 'egUseCubic' attribute).
+     * Only the points between the Path span of the geometry are used, including the nearest point
+     * outside of the span on each side. If the level of detail is activated, the points are
+     * concatenated from the level which fits the zoom. If downsampling is activated, only the points
+     * which are chosen by the LTTB algorithm are concatenated. Otherwise every point of the span is used.
+     *
+     * The Path is stored in the geometry. The Path object and the array of sampled indices of the
+     * geometry are reused.
+     *
+     * @param _Series   The series for which the Path is generated.
+     * @param _Index    Index of the series in the chart.
+     * @param _ScaleX   The horizontal zoom for which the Path is generated.
+     * @param _Geometry The geometry which is used to calculate the coordinates and holds the results.
+     */
+    private void calculateSeriesPath(ValueLineSeries _Series, int _Index, float _ScaleX, ValueLineGeometry _Geometry) {
+        int   size        = _Series.getPointCount();
+        int   spacing     = getSpacingCount(_Series);
+        float widthOffset = _Geometry.mWidthOffsets[_Index];
+        int[] indices     = null;
+        // the span might lie right of the last point, if space is reserved for a bigger capacity
+        int   from        = Math.min(size - 2, Math.max(0, findIndexBefore(_Series, _Geometry.mPathSpanLeft, widthOffset, _Geometry)));
+        int   to          = Math.max(from + 1, Math.min(size - 1, findIndexAfter(_Series, _Geometry.mPathSpanRight, widthOffset, _Geometry)));
+        int   count       = to - from + 1;
+
+        if (_Geometry.mUseLevelOfDetail && _Geometry.mPyramids[_Index] != null) {
+            MinMaxPyramid pyramid = _Geometry.mPyramids[_Index];
+
+            int level = pyramid.chooseLevel(1.f / (widthOffset * _ScaleX));
+            if (level >= 0) {
+                int maxCount = pyramid.getMaxIndexCount(level, from, to);
+                indices = _Geometry.mSampledIndices[_Index];
+                if (indices == null || indices.length < maxCount) {
+                    indices = new int[maxCount];
+                    _Geometry.mSampledIndices[_Index] = indices;
+                }
+                count = pyramid.collectIndices(level, from, to, indices);
+            }
+        }
+        else if (_Geometry.mUseDownsampling) {
+            int threshold = (int) ((_Geometry.mPathSpanRight - _Geometry.mPathSpanLeft) * _ScaleX * DOWNSAMPLING_POINTS_PER_PIXEL);
+
+            if (threshold > 2 && count > threshold) {
+                indices = _Geometry.mSampledIndices[_Index];
+                if (indices == null || indices.length < threshold) {
+                    indices = new int[threshold];
+                    _Geometry.mSampledIndices[_Index] = indices;
+                }
+                count = Downsampler.largestTriangleThreeBuckets(_Series, from, to, threshold, indices);
+            }
+        }
+        // used to store first point and set it later as ending point, if a graph fill is selected
+        int   firstIndex = indices == null ? from : indices[0];
+        int   lastIndex  = indices == null ? from + count - 1 : indices[count - 1];
+        float firstX     = calculatePointX(_Series, firstIndex, spacing, widthOffset, _Geometry);
+        float firstY     = _Geometry.calculatePointY(_Series.getValueAt(firstIndex));
+
+        Path path = _Geometry.mPaths[_Index];
+        if (path == null) {
+            path = new Path();
+            _Geometry.mPaths[_Index] = path;
+        } else {
+            path.rewind();
+        }
+        path.moveTo(firstX, firstY);
+
+        // If a cubic curve should be drawn then calculate cubic path
+        // If not then just draw basic lines
+        if (_Geometry.mUseCubic && count > 1) {
+            // the coordinates are kept in locals and passed on to the next segment, so every point
+            // is only calculated once and no objects are allocated
+            int   i2 = indices == null ? from + 1 : indices[1];
+            float x1 = firstX;
+            float y1 = firstY;
+            float x2 = calculatePointX(_Series, i2, spacing, widthOffset, _Geometry);
+            float y2 = _Geometry.calculatePointY(_Series.getValueAt(i2));
+
+            for (int i = 0; i < count - 1; i++) {
+
+                // the successor of the last point in the span is still used, so the curve keeps its shape
+                int   i3 = indices == null ? Math.min(from + i + 2, size - 1) : ((count - i) < 3 ? i2 : indices[i + 2]);
+                float x3 = calculatePointX(_Series, i3, spacing, widthOffset, _Geometry);
+                float y3 = _Geometry.calculatePointY(_Series.getValueAt(i3));
+
+                path.cubicTo(
+                        x1 + (x2 - x1) * _Geometry.mSecondMultiplier, y1 + (y2 - y1) * _Geometry.mSecondMultiplier,
+                        x2, y2,
+                        x2 + (x3 - x2) * _Geometry.mFirstMultiplier, y2 + (y3 - y2) * _Geometry.mFirstMultiplier);
+
+                i2 = i3;
+                x1 = x2;
+                y1 = y2;
+                x2 = x3;
+                y2 = y3;
+            }
+        } else {
+            for (int i = 1; i < count; i++) {
+                int index = indices == null ? from + i : indices[i];
+                path.lineTo(calculatePointX(_Series, index, spacing, widthOffset, _Geometry), _Geometry.calculatePointY(_Series.getValueAt(index)));
+            }
+        }
+
+        if (_Geometry.mUseOverlapFill) {
+            path.lineTo(calculatePointX(_Series, lastIndex, spacing, widthOffset, _Geometry), _Geometry.mGraphHeight);
+            path.lineTo(firstX, _Geometry.mGraphHeight);
+            path.lineTo(firstX, firstY);
+        }
+    }
+
+    /**
+     * Generates the Path for the current window of a streaming series. The existing Path object is
+     * reused and the window starts at x = 0, so the Path origin is moved to the first value.
+     *
+     * @param _Series The series for which the Path is generated.
+     */
+    private void calculateStreamingPath(StreamingValueLineSeries _Series) {
+        int   count       = _Series.getPointCount();
+        float widthOffset = _Series.getWidthOffset();
+        float firstY      = calculatePointY(_Series.getValueAt(0));
+        Path  path        = _Series.getPath();
+
+        path.rewind();
+
+        // a filled Path starts at the bottom and ends there, so it is closed along the bottom and
+        // appended values only have to move its last point
+        if (mUseOverlapFill) {
+            path.moveTo(0, mGraphHeight);
+            path.lineTo(0, firstY);
+        } else {
+            path.moveTo(0, firstY);
+        }
+        _Series.setCoordinatesAt(0, 0, firstY);
+
+        for (int i = 1; i < count; i++) {
+            float y = calculatePointY(_Series.getValueAt(i));
+            path.lineTo(i * widthOffset, y);
+            _Series.setCoordinatesAt(i, i * widthOffset, y);
+        }
+
+        if (mUseOverlapFill) {
+            path.lineTo((count - 1) * widthOffset, mGraphHeight);
+        }
+
+        _Series.setPathOrigin(_Series.getFirstIndex());
+    }
+
+    /**
+     * Returns the amount of points for which horizontal space is reserved in the graph.
+     * @param _Series The series.
+     * @return The bigger value of the series size and its capacity.
+     */
+    private int getSpacingCount(ValueLineSeries _Series) {
+        return Math.max(_Series.getPointCount(), _Series.getCapacity());
+    }
+
+    /**
+     * Calculates the x-coordinate of a point in the unzoomed graph.
+     * @param _Index       Index of the point in its series.
+     * @param _Size        Amount of points for which space is reserved in the graph.
+     * @param _WidthOffset The offset between two points.
+     * @param _GraphWidth  The width of the graph.
+     * @return The x-coordinate in px.
+     */
+    private static float calculatePointX(int _Index, int _Size, float _WidthOffset, float _GraphWidth) {
+        float x = _Index * _WidthOffset;
+
+        // if the last offset is smaller than the width, then the offset should be as long as the graph
+        // to prevent a graph drop
+        if (_Index == _Size - 1 && x < _GraphWidth) {
+            x = _GraphWidth;
+        }
+        return x;
+    }
+
+    /**
+     * Calculates the x-coordinate of a point in the unzoomed graph. The x-coordinate of a timed
+     * series is mapped from its timestamp, the x-coordinate of every other series from its index.
+     * @param _Series      The series of the point.
+     * @param _Index       Index of the point in its series.
+     * @param _Size        Amount of points for which space is reserved in the graph.
+     * @param _WidthOffset The offset between two points.
+     * @param _Geometry    The geometry which holds the time range.
+     * @return The x-coordinate in px.
+     */
+    private float calculatePointX(ValueLineSeries _Series, int _Index, int _Size, float _WidthOffset, ValueLineGeometry _Geometry) {
+        if (_Series instanceof TimedValueLineSeries) {
+            return _Geometry.calculateTimeX(((TimedValueLineSeries) _Series).getTimestampAt(_Index));
+        }
+        return calculatePointX(_Index, _Size, _WidthOffset, _Geometry.mGraphWidth);
+    }
+
+    /**
+     * Searches the last point of the series, whose x-coordinate is not bigger than the given
+     * x-coordinate. Timed series are searched by their timestamps.
+     * @param _Series      The series.
+     * @param _X           The x-coordinate in the unzoomed graph.
+     * @param _WidthOffset The offset between two points.
+     * @param _Geometry    The geometry which holds the time range.
+     * @return Index of the point, -1 if every point is right of the x-coordinate.
+     */
+    private int findIndexBefore(ValueLineSeries _Series, float _X, float _WidthOffset, ValueLineGeometry _Geometry) {
+        if (_Series instanceof TimedValueLineSeries) {
+            TimedValueLineSeries series    = (TimedValueLineSeries) _Series;
+            long                 timestamp = _Geometry.calculateTimeAtX(_X);
+            int                  index     = series.findIndex(timestamp);
+
+            if (index == series.getPointCount() || series.getTimestampAt(index) > timestamp) {
+                index--;
+            }
+            return index;
+        }
+        return (int) (_X / _WidthOffset);
+    }
+
+    /**
+     * Searches the first point of the series, whose x-coordinate is not smaller than the given
+     * x-coordinate. Timed series are searched by their timestamps.
+     * @param _Series      The series.
+     * @param _X           The x-coordinate in the unzoomed graph.
+     * @param _WidthOffset The offset between two points.
+     * @param _Geometry    The geometry which holds the time range.
+     * @return Index of the point, the amount of points if every point is left of the x-coordinate.
+     */
+    private int findIndexAfter(ValueLineSeries _Series, float _X, float _WidthOffset, ValueLineGeometry _Geometry) {
+        if (_Series instanceof TimedValueLineSeries) {
+            // rounded up, so the point at the edge is not missed
+            return ((TimedValueLineSeries) _Series).findIndex(_Geometry.calculateTimeAtX(_X) + 1);
+        }
+        return (int) Math.ceil(_X / _WidthOffset);
+    }
+
+    /**
+     * Calculates the y-coordinate of a value based on the last calculated minimum value and height multiplier.
+     * @param _Value The value of the point.
+     * @return The y-coordinate in px.
+     */
+    private float calculatePointY(float _Value) {
+        return mGeometry.calculatePointY(_Value);
+    }
+
+    /**
+     * Checks if the current horizontal zoom differs enough from the zoom for which the series were
+     * downsampled, so that the Paths have to be generated again.
+     * @return True if the series should be downsampled again.
+     */
+    private boolean needsResampling() {
+        float scaleX = Utils.getScaleX(mDrawMatrixValues);
+        return Math.abs(scaleX - mSampledScaleX) > mSampledScaleX * DOWNSAMPLING_RESAMPLE_THRESHOLD;
+    }
+
+    /**
+     * Checks if the currently visible part of the graph lies outside of the span for which the Paths
+     * were generated, or if the Paths span much more than the visible part after zooming in.
+     * @return True if the Paths should be generated for the visible part again.
+     */
+    private boolean needsVisibleSpanUpdate() {
+        float scaleX       = Utils.getScaleX(mDrawMatrixValues);
+        float visibleWidth = mGraphWidth / scaleX;
+        float visibleLeft  = -Utils.getTranslationX(mDrawMatrixValues) / scaleX;
+        float visibleRight = visibleLeft + visibleWidth;
+
+        // the level of detail is already regenerated by the zoom check
+        boolean tooWide = !mUseLevelOfDetail && mGeometry.mPathSpanRight - mGeometry.mPathSpanLeft > 2 * visibleWidth;
+
+        return (visibleLeft < mGeometry.mPathSpanLeft && mGeometry.mPathSpanLeft > 0)
+                || (visibleRight > mGeometry.mPathSpanRight && mGeometry.mPathSpanRight < mGraphWidth)
+                || tooWide;
+    }
+
+    /**
+     * Generates the Paths again, if the current zoom or the visible part of the graph is not
+     * represented by the current Paths anymore. Should be called whenever the draw matrix changes.
+     */
+    private void updateSeriesPaths() {
+        if (!containsPoints()) {
+            return;
+        }
+
+        if ((mUseDownsampling || mUseLevelOfDetail) && needsResampling()
+                || needsVisibleSpanUpdate()) {
+            resampleSeries();
+        }
+
+        updateVisibleAutoScale(true);
+    }
+
+    /**
+     * Calculates the value range of the currently visible points and moves the vertical scaling to
+     * it. The range of every series is queried from its min/max pyramid in O(log n), so this can be
+     * called on every scroll frame. The Paths are not generated again, the new scaling is applied
+     * as a transformation when the graph is drawn.
+     * @param _Animate True if the scaling should be animated to the new range.
+     */
+    private void updateVisibleAutoScale(boolean _Animate) {
+        // a pending geometry or the end of a batch update the scaling as soon as they are applied
+        if (!mUseVisibleAutoScale || !containsPoints() || isGeometryPending() || isUpdating()) {
+            return;
+        }
+
+        float scaleX       = Utils.getScaleX(mDrawMatrixValues);
+        float visibleLeft  = -Utils.getTranslationX(mDrawMatrixValues) / scaleX;
+        float visibleRight = visibleLeft + mGraphWidth / scaleX;
+        float minValue     = Float.MAX_VALUE;
+        float maxValue     = -Float.MAX_VALUE;
+
+        for (int i = 0; i < mSeries.size(); i++) {
+            ValueLineSeries series = mSeries.get(i);
+            int             size   = series.getPointCount();
+
+            if (size <= 1) {
+                continue;
+            }
+
+            if (series instanceof StreamingValueLineSeries) {
+                // the whole window of a streaming series is visible
+                StreamingValueLineSeries stream = (StreamingValueLineSeries) series;
+                minValue = Math.min(minValue, stream.getMin());
+                maxValue = Math.max(maxValue, stream.getMax());
+                continue;
+            }
+
+            // the nearest points outside of the visible part are included, as their segments are visible
+            float widthOffset = series.getWidthOffset();
+            int   from        = Math.min(size - 1, Math.max(0, findIndexBefore(series, visibleLeft, widthOffset, mGeometry)));
+            int   to          = Math.max(from, Math.min(size - 1, findIndexAfter(series, visibleRight, widthOffset, mGeometry)));
+
+            // the pyramids are built with the next calculation, after the automatic scaling was activated
+            MinMaxPyramid pyramid = mGeometry.mPyramids[i];
+            if (pyramid != null) {
+                pyramid.queryRange(series, from, to, mVisibleRange);
+                minValue = Math.min(minValue, mVisibleRange[0]);
+                maxValue = Math.max(maxValue, mVisibleRange[1]);
+            } else {
+                for (int j = from; j <= to; j++) {
+                    float value = series.getValueAt(j);
+                    minValue = Math.min(minValue, value);
+                    maxValue = Math.max(maxValue, value);
+                }
+            }
+        }
+
+        if (minValue > maxValue) {
+            return;
+        }
+
+        // a flat line is shown in the middle of the graph
+        if (minValue == maxValue) {
+            minValue -= 1.f;
+            maxValue += 1.f;
+        }
+
+        if (!_Animate || !mHasVisibleRange) {
+            mAutoScaleAnimator.cancel();
+            mVisibleMinValue = minValue;
+            mVisibleMaxValue = maxValue;
+            mHasVisibleRange = true;
+            calculateAutoScaleTransformation();
+        }
+        else if (minValue != mTargetMinValue || maxValue != mTargetMaxValue) {
+            mAutoScaleAnimator.cancel();
+            mStartMinValue = mVisibleMinValue;
+            mStartMaxValue = mVisibleMaxValue;
+            mAutoScaleAnimator.start();
+        }
+
+        mTargetMinValue = minValue;
+        mTargetMaxValue = maxValue;
+    }
+
+    /**
+     * Calculates the vertical transformation, which maps the current visible value range onto the
+     * usable height of the graph. The Paths were generated for the value range of the whole graph,
+     * so the transformation is applied on top of their coordinates.
+     */
+    private void calculateAutoScaleTransformation() {
+        ValueLineGeometry geometry   = mGeometry;
+        float             baseValue  = geometry.mHasNegativeValues ? geometry.mNegativeValue : geometry.mMinValue;
+        float             multiplier = mUsableGraphHeight / (mVisibleMaxValue - mVisibleMinValue);
+
+        mAutoScaleY       = multiplier / geometry.mHeightMultiplier;
+        mAutoTranslationY = geometry.mGraphHeight * (1 - mAutoScaleY) - (baseValue - mVisibleMinValue) * multiplier;
+    }
+
+    /**
+     * Maps a y-coordinate of the unzoomed graph onto the screen, including the automatic scaling.
+     * @param _Y The y-coordinate, including the offset for negative values.
+     * @return The y-coordinate on the screen.
+     */
+    private float getDrawY(float _Y) {
+        return (_Y * mAutoScaleY + mAutoTranslationY) * Utils.getScaleY(mDrawMatrixValues) + Utils.getTranslationY(mDrawMatrixValues);
+    }
+
+    /**
+     * Downsamples all series for the current horizontal zoom and generates their Paths again, so
+     * they only span the visible part of the graph. If the level of detail is used, the Paths span an
+     * additional width of the visible part on each side, so scrolling does not regenerate them on
+     * every frame.
+     *
+     * While an asynchronous calculation is pending or a batch of data changes is running, the current
+     * geometry might not hold entries for every series yet. The new geometry resets the zoom when it
+     * is applied, so nothing is resampled.
+     */
+    private void resampleSeries() {
+        if (isGeometryPending() || isUpdating()) {
+            return;
+        }
+
+        float scaleX       = Utils.getScaleX(mDrawMatrixValues);
+        float visibleWidth = mGraphWidth / scaleX;
+        float visibleLeft  = -Utils.getTranslationX(mDrawMatrixValues) / scaleX;
+
+        if (mUseLevelOfDetail) {
+            mGeometry.mPathSpanLeft  = Math.max(0, visibleLeft - visibleWidth);
+            mGeometry.mPathSpanRight = Math.min(mGraphWidth, visibleLeft + 2 * visibleWidth);
+        } else {
+            mGeometry.mPathSpanLeft  = Math.max(0, visibleLeft);
+            mGeometry.mPathSpanRight = Math.min(mGraphWidth, visibleLeft + visibleWidth);
+        }
+
+        for (int i = 0; i < mSeries.size(); i++) {
+            ValueLineSeries series = mSeries.get(i);
+            if (series.getPointCount() > 1 && !(series instanceof StreamingValueLineSeries)) {
+                // nothing of the series is visible in the reserved space right of its last point
+                if (findIndexBefore(series, mGeometry.mPathSpanLeft, mGeometry.mWidthOffsets[i], mGeometry) >= series.getPointCount() - 1) {
+                    continue;
+                }
+
+                calculateSeriesPath(series, i, scaleX, mGeometry);
+                applySeriesPath(series, i, mGeometry);
+            }
+        }
+        mSampledScaleX = scaleX;
+    }
+
+    /**
+     * Returns the x-coordinate of a point of the first series in the zoomed graph. The series only
+     * holds the unzoomed coordinates, so the zoomed coordinate is derived from the index, the width
+     * offset and the current matrix whenever it is needed.
+     * @param _Index Index of the point in the first series.
+     * @return The x-coordinate in px.
+     */
+    private float getZoomedX(int _Index) {
+        ValueLineSeries series = mSeries.get(0);
+        return calculatePointX(series, _Index, getSpacingCount(series), series.getWidthOffset(), mGeometry) * Utils.getScaleX(mDrawMatrixValues);
+    }
+
+    /**
+     * Returns the amount of points of the first series, which can be focused by the indicator and
+     * have a legend label. Streaming series do not hold any information per point.
+     * @return Amount of points.
+     */
+    private int getLabeledPointCount() {
+        ValueLineSeries series = mSeries.get(0);
+        return series instanceof StreamingValueLineSeries ? 0 : series.getPointCount();
+    }
+
+    /**
+     * Draws the legend labels of the first series, which reach into the visible part of the graph.
+     * The labels are laid out lazily, so only the visible labels are measured.
+     * @param _Canvas The canvas, which is translated by the scroll offset.
+     */
+    private void drawSeriesLegend(Canvas _Canvas) {
+        ValueLineSeries series = mSeries.get(0);
+        int             size   = getLabeledPointCount();
+
+        if (size <= 2) {
+            return;
+        }
+
+        float scaleX       = Utils.getScaleX(mDrawMatrixValues);
+        float widthOffset  = series.getWidthOffset();
+        float reach        = mLegendLayout.getMaxLabelWidth() / 2 / scaleX;
+        float visibleLeft  = -Utils.getTranslationX(mDrawMatrixValues) / scaleX;
+        float visibleRight = visibleLeft + mGraphWidth / scaleX;
+
+        // the first and the last point don't get a label
+        int from = Math.max(1, findIndexBefore(series, visibleLeft - reach, widthOffset, mGeometry));
+        int to   = Math.min(size - 2, findIndexAfter(series, visibleRight + reach, widthOffset, mGeometry));
+
+        mLegendLayout.layout(mLegendLabels, from, to, mGraphWidth * scaleX, mLegendPaint);
+
+        int stride = mLegendLayout.getStride(widthOffset * scaleX);
+        for (int i = LegendLayout.getFirstShownIndex(from, stride); i <= to; i += stride) {
+            float centerX  = getZoomedX(i);
+            int   position = series instanceof ColumnarValueLineSeries
+                    ? ((ColumnarValueLineSeries) series).getLegendLabelPositionAt(i)
+                    : series.getSeries().get(i).getLegendLabelPosition();
+
+            _Canvas.drawText(series.getLegendLabelAt(i), position, mLegendHeight - mMaxFontHeight, mLegendPaint);
+            _Canvas.drawLine(
+                    centerX,
+                    mLegendHeight - mMaxFontHeight * 2 - mLegendTopPadding,
+                    centerX,
+                    mLegendTopPadding, mLegendPaint
+            );
+        }
     }
 
     /**
@@ -971,17 +2313,30 @@ public class ValueLineChart extends BaseChart {
         invalidateGlobal();
     }
 
+    /**
+     * Formats the indicator value with its unit, if it changed since the last call.
+     * @param _Value The focused value.
+     * @return Length of the label, whose chars are held by {@link #mIndicatorLabel}.
+     */
+    private int getIndicatorValueLabel(float _Value) {
+        mIndicatorLabel.setFormat(mShowDecimal, mIndicatorTextSuffix);
+        return mIndicatorLabel.getLabel(0, _Value);
+    }
+
     /**
      * Calculates the text height for the indicator value and sets its x-coordinate.
      */
     private void calculateValueTextHeight() {
-        Rect valueRect = new Rect();
-        Rect legendRect = new Rect();
-        String str = Utils.getFloatString(mFocusedPoint.getValue(), mShowDecimal) + (!mIndicatorTextUnit.isEmpty() ? " " + mIndicatorTextUnit : "");
+        Rect valueRect = mValueTextBounds;
+        Rect legendRect = mLegendTextBounds;
+        ValueLineSeries series = mSeries.get(0);
+        int    valueLength = getIndicatorValueLabel(series.getValueAt(mFocusedIndex));
+        String legendLabel = series.getLegendLabelAt(mFocusedIndex);
+        float  focusedX = getZoomedX(mFocusedIndex);
 
         // calculate the boundaries for both texts
-        mIndicatorPaint.getTextBounds(str, 0, str.length(), valueRect);
-        mLegendPaint.getTextBounds(mFocusedPoint.getLegendLabel(), 0, mFocusedPoint.getLegendLabel().length(), legendRect);
+        mIndicatorPaint.getTextBounds(mIndicatorLabel.getChars(0), 0, valueLength, valueRect);
+        TextMeasureCache.getInstance().getTextBounds(mLegendPaint, legendLabel, legendRect);
 
         // calculate string positions in overlay
         mValueTextHeight = valueRect.height();
@@ -991,11 +2346,11 @@ public class ValueLineChart extends BaseChart {
         int chosenWidth = valueRect.width() > legendRect.width() ? valueRect.width() : legendRect.width();
 
         // check if text reaches over screen
-        if (mFocusedPoint.getCoordinates().getX() + chosenWidth + mIndicatorLeftPadding > -Utils.getTranslationX(mDrawMatrixValues) + mGraphWidth) {
-            mValueLabelX = (int) (mFocusedPoint.getCoordinates().getX() - (valueRect.width() + mIndicatorLeftPadding));
-            mLegendLabelX = (int) (mFocusedPoint.getCoordinates().getX() - (legendRect.width() + mIndicatorLeftPadding));
+        if (focusedX + chosenWidth + mIndicatorLeftPadding > -Utils.getTranslationX(mDrawMatrixValues) + mGraphWidth) {
+            mValueLabelX = (int) (focusedX - (valueRect.width() + mIndicatorLeftPadding));
+            mLegendLabelX = (int) (focusedX - (legendRect.width() + mIndicatorLeftPadding));
         } else {
-            mValueLabelX = mLegendLabelX = (int) (mFocusedPoint.getCoordinates().getX() + mIndicatorLeftPadding);
+            mValueLabelX = mLegendLabelX = (int) (focusedX + mIndicatorLeftPadding);
         }
     }
 
@@ -1022,7 +2377,8 @@ public class ValueLineChart extends BaseChart {
 
             mIsInteracting = true;
 
-            Matrix transformationMatrix = new Matrix();
+            Matrix transformationMatrix = mScaleMatrix;
+            transformationMatrix.reset();
             float focusX = scaleGestureDetector.getFocusX();
             float focusY = scaleGestureDetector.getFocusY();
 
@@ -1040,14 +2396,15 @@ public class ValueLineChart extends BaseChart {
 
             constrainView();
 
-            recalculateXCoordinates(mGraphWidth * mDrawMatrixValues[0]);
-            if(calculateLegendBounds())
-                Utils.calculateLegendInformation(mSeries.get(0).getSeries(), 0, mGraphWidth * mDrawMatrixValues[0], mLegendPaint);
+            updateSeriesPaths();
+
+            // the x-coordinates are derived from the matrix and the legend is laid out when it is drawn
+            mLegendLayout.invalidatePositions();
 
             mLastFocusX = focusX;
             mLastFocusY = focusY;
 
-            if(mFocusedPoint != null) {
+            if(mFocusedIndex >= 0) {
                 calculateValueTextHeight();
             }
             invalidateGlobal();
@@ -1076,6 +2433,7 @@ public class ValueLineChart extends BaseChart {
             mDrawMatrix.postTranslate(-distanceX, -distanceY);
 
             constrainView();
+            updateSeriesPaths();
 
             invalidateGlobal();
             return true;
@@ -1124,6 +2482,7 @@ public class ValueLineChart extends BaseChart {
             mDrawMatrixValues[5] = currY;
 
             mDrawMatrix.setValues(mDrawMatrixValues);
+            updateSeriesPaths();
         } else {
             mScrollAnimator.cancel();
         }
@@ -1202,14 +2561,28 @@ public class ValueLineChart extends BaseChart {
         }
 
         _Canvas.concat(mDrawMatrix);
-        if(mHasNegativeValues) {
-            _Canvas.translate(0, -mNegativeOffset);
+        if(mUseVisibleAutoScale) {
+            _Canvas.translate(0, mAutoTranslationY);
+            _Canvas.scale(1, mAutoScaleY);
+        }
+        if(mGeometry.mHasNegativeValues) {
+            _Canvas.translate(0, -mGeometry.mNegativeOffset);
         }
 
         // drawing of lines
         for (ValueLineSeries series : mSeries) {
             mLinePaint.setColor(series.getColor());
-            _Canvas.drawPath(series.getPath(), mLinePaint);
+
+            if (series instanceof StreamingValueLineSeries) {
+                // the Path of a streaming series can start before the current window
+                StreamingValueLineSeries stream = (StreamingValueLineSeries) series;
+                _Canvas.save();
+                _Canvas.translate(-(stream.getFirstIndex() - stream.getPathOrigin()) * stream.getWidthOffset(), 0);
+                _Canvas.drawPath(stream.getPath(), mLinePaint);
+                _Canvas.restore();
+            } else {
+                _Canvas.drawPath(series.getPath(), mLinePaint);
+            }
         }
     }
 
@@ -1221,9 +2594,9 @@ public class ValueLineChart extends BaseChart {
         mLegendPaint.setStrokeWidth(mXAxisStroke);
         _Canvas.drawLine(
                 0,
-                (mGraphHeight - mNegativeOffset) * Utils.getScaleY(mDrawMatrixValues) + Utils.getTranslationY(mDrawMatrixValues),
+                getDrawY(mGraphHeight - mGeometry.mNegativeOffset),
                 mGraphWidth,
-                (mGraphHeight - mNegativeOffset) * Utils.getScaleY(mDrawMatrixValues) + Utils.getTranslationY(mDrawMatrixValues),
+                getDrawY(mGraphHeight - mGeometry.mNegativeOffset),
                 mLegendPaint
         );
 
@@ -1237,9 +2610,9 @@ public class ValueLineChart extends BaseChart {
                     mIndicatorPaint.setStrokeWidth(value.getStroke());
                     _Canvas.drawLine(
                             0,
-                            value.getY() * Utils.getScaleY(mDrawMatrixValues) + Utils.getTranslationY(mDrawMatrixValues),
+                            getDrawY(value.getY()),
                             mGraphWidth,
-                            value.getY() * Utils.getScaleY(mDrawMatrixValues) + Utils.getTranslationY(mDrawMatrixValues),
+                            getDrawY(value.getY()),
                             mIndicatorPaint
                     );
                 }
@@ -1252,10 +2625,12 @@ public class ValueLineChart extends BaseChart {
                 mIndicatorPaint.setColor(mIndicatorLineColor);
                 mIndicatorPaint.setStrokeWidth(mIndicatorWidth);
 
+                float indicatorX = mFocusedIndex >= 0 ? getZoomedX(mFocusedIndex) : mTouchedArea.getX();
+
                 _Canvas.translate(Utils.getTranslationX(mDrawMatrixValues), 0);
-                _Canvas.drawLine(mTouchedArea.getX(), 0, mTouchedArea.getX(), mGraphHeight, mIndicatorPaint);
+                _Canvas.drawLine(indicatorX, 0, indicatorX, mGraphHeight, mIndicatorPaint);
 
-                if (mFocusedPoint != null) {
+                if (mFocusedIndex >= 0) {
 
                     // set shadow
                     if (mActivateIndicatorShadow) {
@@ -1263,14 +2638,15 @@ public class ValueLineChart extends BaseChart {
                     }
 
                     mIndicatorPaint.setColor(mIndicatorTextColor);
-                    _Canvas.drawText(Utils.getFloatString(mFocusedPoint.getValue(), mShowDecimal) + (!mIndicatorTextUnit.isEmpty() ? " " + mIndicatorTextUnit : ""),
+                    int valueLength = getIndicatorValueLabel(mSeries.get(0).getValueAt(mFocusedIndex));
+                    _Canvas.drawText(mIndicatorLabel.getChars(0), 0, valueLength,
                             mValueLabelX,
                             mValueLabelY,
                             mIndicatorPaint);
 
                     if (mShowLegendBeneathIndicator) {
                         mLegendPaint.setColor(mIndicatorTextColor);
-                        _Canvas.drawText(mFocusedPoint.getLegendLabel(),
+                        _Canvas.drawText(mSeries.get(0).getLegendLabelAt(mFocusedIndex),
                                 mLegendLabelX,
                                 mLegendLabelY,
                                 mLegendPaint);
@@ -1307,19 +2683,7 @@ public class ValueLineChart extends BaseChart {
                             mLegendTopPadding, mLegendPaint);
                 }
             } else {
-                List<? extends BaseModel> list = mSeries.get(0).getSeries();
-                for (BaseModel model : list) {
-                    if (model.canShowLabel()) {
-                        RectF bounds = model.getLegendBounds();
-                        _Canvas.drawText(model.getLegendLabel(), model.getLegendLabelPosition(), bounds.bottom - mMaxFontHeight, mLegendPaint);
-                        _Canvas.drawLine(
-                                bounds.centerX(),
-                                bounds.bottom - mMaxFontHeight * 2 - mLegendTopPadding,
-                                bounds.centerX(),
-                                mLegendTopPadding, mLegendPaint
-                        );
-                    }
-                }
+                drawSeriesLegend(_Canvas);
             }
         }
     }
@@ -1331,11 +2695,33 @@ public class ValueLineChart extends BaseChart {
 
         if(!mStartedAnimation && containsPoints()) {
             mScaleGestureDetector.onTouchEvent(_Event);
-            mGestureDetector.onTouchEvent(_Event);
 
             float newX = getScaledXCoordinate(_Event.getX());
             float newY = _Event.getY();
 
+            // the gesture detector always sees the down event, so the next scroll or fling starts at
+            // the right origin
+            if (_Event.getAction() == MotionEvent.ACTION_DOWN) {
+                mGestureDetector.onTouchEvent(_Event);
+            }
+
+            // while scrubbing, a single finger moves the indicator instead of the graph
+            if (mUseIndicatorScrubbing && mShowIndicator && _Event.getPointerCount() == 1 && !mIsInteracting) {
+                switch (_Event.getAction()) {
+                    case MotionEvent.ACTION_UP:
+                        cancelGestureDetector(_Event);
+                        // fall through
+                    case MotionEvent.ACTION_DOWN:
+                    case MotionEvent.ACTION_MOVE:
+                        findNearestPoint(newX, newY);
+                        return true;
+                }
+            }
+
+            if (_Event.getAction() != MotionEvent.ACTION_DOWN) {
+                mGestureDetector.onTouchEvent(_Event);
+            }
+
             switch (_Event.getAction()) {
 
                 case MotionEvent.ACTION_UP:
@@ -1351,76 +2737,83 @@ public class ValueLineChart extends BaseChart {
         return true;
     }
 
+    /**
+     * Ends the gesture of the gesture detector without a tap or fling, after the finger scrubbed the
+     * indicator. The detector only saw the down event of the gesture.
+     * @param _Event The event which ended the gesture.
+     */
+    private void cancelGestureDetector(MotionEvent _Event) {
+        MotionEvent cancel = MotionEvent.obtain(_Event);
+        cancel.setAction(MotionEvent.ACTION_CANCEL);
+        mGestureDetector.onTouchEvent(cancel);
+        cancel.recycle();
+    }
+
+    /**
+     * Focuses the point of the first series, which is horizontally nearest to the given coordinates.
+     * Only the GraphOverlay is redrawn, as the indicator is drawn there.
+     * @param _X The x-coordinate in the zoomed graph.
+     * @param _Y The y-coordinate in the zoomed graph.
+     */
     private void findNearestPoint(float _X, float _Y) {
         if(mShowIndicator && mSeries.size() == 1) {
-            int size       = mSeries.get(0).getSeries().size();
-
-            for (int i = 0; i < size; i++) {
-
-                float pointX = mSeries.get(0).getSeries().get(i).getCoordinates().getX();
+            ValueLineSeries series = mSeries.get(0);
+            int size       = getLabeledPointCount();
 
-                
-                // check if touchedX equals one the points
-                if (pointX == _X) {
-                    mFocusedPoint = mSeries.get(0).getSeries().get(i);
-                    break;
-                } else {
-                    // if first point bigger than touched x select first
-                    if (i == 0 && pointX > _X) {
-                        mFocusedPoint = series.get(i);
-                        focusedPointOrder = i;
-                        break;
-                    } 
-                    // check if we reached the last. if --> (true) use last point
-                    else if (i == size - 1) {
-                        mFocusedPoint = mSeries.get(0).getSeries().get(i);
-                        break;
-                    } else {
-
-                        float nextX = mSeries.get(0).getSeries().get(i + 1).getCoordinates().getX();
-
-                        // check if touchedX is between two points
-                        if (_X > pointX && _X < nextX) {
-                            // check which distance between touchedX and the two points is smaller
-                            if (_X - pointX > nextX - _X) {
-                                mFocusedPoint = mSeries.get(0).getSeries().get(i + 1);
-                                break;
-                            } else {
-                                mFocusedPoint = mSeries.get(0).getSeries().get(i);
-                                break;
-                            }
-                        }
-                        //check if touchedX distance between the points is equal -> choose first Point
-                        else if (_X > pointX && _X < nextX) {
-                            mFocusedPoint = mSeries.get(0).getSeries().get(i);
-                            break;
-                        }
-                    }
-                }
+            if (size > 0) {
+                mFocusedIndex = findNearestIndex(size, _X);
             }
 
-            if (mFocusedPoint != null) {
-                mTouchedArea = mFocusedPoint.getCoordinates();
-
+            if (mFocusedIndex >= 0) {
+                mTouchedArea.setX(getZoomedX(mFocusedIndex));
+                mTouchedArea.setY(series.getYAt(mFocusedIndex));
             } else {
                 mTouchedArea.setX(_X);
                 mTouchedArea.setY(_Y);
             }
 
-            if(mLastPoint != mFocusedPoint) {
-                mLastPoint = mFocusedPoint;
+            if(mLastFocusedIndex != mFocusedIndex) {
+                mLastFocusedIndex = mFocusedIndex;
 
                 calculateValueTextHeight();
 
                 if (mListener != null) {
-                    mListener.onPointFocused(mSeries.get(0).getSeries().indexOf(mFocusedPoint));
+                    mListener.onPointFocused(mFocusedIndex);
                 }
             }
 
-            invalidateGlobal();
+            invalidateGraphOverlay();
         }
     }
 
+    /**
+     * Searches the point of the first series whose zoomed x-coordinate is nearest to the given
+     * x-coordinate. The x-coordinates are increasing, so a binary search is used. If the distance to
+     * both neighbours is equal, the first one is chosen.
+     * @param _Size   Amount of points in the series.
+     * @param _X      The x-coordinate.
+     * @return Index of the nearest point.
+     */
+    private int findNearestIndex(int _Size, float _X) {
+        int low  = 0;
+        int high = _Size - 1;
+
+        // find the first point which is not left of the touched x
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (getZoomedX(middle) < _X) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        if (low > 0 && _X - getZoomedX(low - 1) <= getZoomedX(low) - _X) {
+            return low - 1;
+        }
+        return low;
+    }
+
     private float getScaledXCoordinate(float _X) {
         return _X - Utils.getTranslationX(mDrawMatrixValues);
     }
@@ -1428,7 +2821,7 @@ public class ValueLineChart extends BaseChart {
     private boolean containsPoints() {
         boolean result = false;
         for (ValueLineSeries sery : mSeries) {
-            if(!sery.getSeries().isEmpty()) {
+            if(sery.getPointCount() > 0) {
                 result = true;
             }
         }
@@ -1467,6 +2860,60 @@ public class ValueLineChart extends BaseChart {
     public static final float   DEF_SCALING_FACTOR                  = 0.96f;
     public static final float   DEF_MAX_ZOOM_X                      = 3.f;
     public static final float   DEF_MAX_ZOOM_Y                      = 3.f;
+    public static final boolean DEF_USE_DOWNSAMPLING                = false;
+    public static final boolean DEF_USE_LEVEL_OF_DETAIL             = false;
+    public static final boolean DEF_USE_INDICATOR_SCRUBBING         = false;
+    public static final boolean DEF_USE_ASYNC_CALCULATION           = false;
+    public static final boolean DEF_USE_PARALLEL_CALCULATION        = false;
+    public static final boolean DEF_USE_VISIBLE_AUTO_SCALE          = false;
+
+    /**
+     * Amount of points per pixel of the zoomed graph width, which are kept when a series is downsampled.
+     */
+    private static final float  DOWNSAMPLING_POINTS_PER_PIXEL       = 2.f;
+    /**
+     * Relative zoom change after which the series are downsampled again.
+     */
+    private static final float  DOWNSAMPLING_RESAMPLE_THRESHOLD     = 0.25f;
+
+    /**
+     * The duration of the animation to a new visible value range in milliseconds.
+     */
+    private static final int    AUTO_SCALE_ANIMATION_TIME           = 250;
+
+    /**
+     * The minimum average offset of a timed series, so series without a time range can be drawn.
+     */
+    private static final float  MIN_TIMED_WIDTH_OFFSET              = 0.001f;
+
+    /**
+     * The steps of the calculation which are run on the parallel executor.
+     */
+    private static final int    TASK_STEP_RANGE                     = 0;
+    private static final int    TASK_STEP_GEOMETRY                  = 1;
+    private static final int    TASK_STEP_COORDINATES               = 2;
+
+    /**
+     * The time in seconds after which an idle thread of the executors terminates.
+     */
+    private static final int    EXECUTOR_KEEP_ALIVE_TIME            = 10;
+
+    /**
+     * The worker thread on which the geometry of all charts is calculated in the asynchronous mode.
+     * As the calculations run one after another, a back buffer is never used by two calculations.
+     */
+    private static final ExecutorService GEOMETRY_EXECUTOR = createExecutor("EazeGraph-Geometry", 1, Thread.MIN_PRIORITY);
+
+    /**
+     * The minimum amount of points in all series, for which the parallel calculation is used.
+     */
+    public static final int     PARALLEL_POINT_THRESHOLD            = 10000;
+
+    /**
+     * The thread pool on which the series are calculated in the parallel mode.
+     */
+    private static final ExecutorService PARALLEL_EXECUTOR = createExecutor("EazeGraph-Parallel",
+            Runtime.getRuntime().availableProcessors(), Thread.NORM_PRIORITY);
 
     private Paint                   mLinePaint;
     private Paint                   mLegendPaint;
@@ -1482,9 +2929,6 @@ public class ValueLineChart extends BaseChart {
     private List<ValueLineSeries>   mSeries;
     private List<LegendModel>       mLegendList;
 
-    private boolean                 mHasNegativeValues  = false;
-    private float                   mNegativeValue      = 0.f;
-    private float                   mNegativeOffset     = 0.f;
 
     private IOnPointFocusedListener mListener = null;
 
@@ -1493,11 +2937,14 @@ public class ValueLineChart extends BaseChart {
 
     private boolean                 mUseCustomLegend = false;
     private Point2D                 mTouchedArea     = new Point2D(0, 0);
-    private ValueLinePoint          mFocusedPoint    = null;
+    /**
+     * Index of the focused point in the first series or -1, if no point is focused.
+     */
+    private int                     mFocusedIndex    = -1;
     private float                   mValueTextHeight;
 
     // GraphOverlay vars
-    private ValueLinePoint          mLastPoint = null;
+    private int                     mLastFocusedIndex = -1;
     private int                     mValueLabelX  = 0;
     private int                     mValueLabelY  = 0;
     private int                     mLegendLabelX = 0;
@@ -1524,6 +2971,12 @@ public class ValueLineChart extends BaseChart {
     private float                   mIndicatorShadowStrength;
     private int                     mIndicatorShadowColor;
     private String                  mIndicatorTextUnit;
+    private String                  mIndicatorTextSuffix;
+
+    /**
+     * The formatted indicator value, which is only formatted again if the focused value changed.
+     */
+    private final ValueLabelCache   mIndicatorLabel = new ValueLabelCache();
     private boolean                 mShowLegendBeneathIndicator;
     /**
      * Enabling this when only positive and big values are present and only have little fluctuations,
@@ -1537,8 +2990,100 @@ public class ValueLineChart extends BaseChart {
     private float                   mScalingFactor;
     private float                   mMaxZoomX = DEF_MAX_ZOOM_X;
     private float                   mMaxZoomY = DEF_MAX_ZOOM_Y;
+    private boolean                 mUseDownsampling;
+    /**
+     * The horizontal zoom for which the series were downsampled the last time.
+     */
+    private float                   mSampledScaleX = 1.f;
+    private boolean                 mUseLevelOfDetail;
+    /**
+     * Indicates that the indicator follows the finger while it is dragged over the graph.
+     */
+    private boolean                 mUseIndicatorScrubbing;
+    private boolean                 mUseAsyncCalculation;
+    private boolean                 mUseParallelCalculation;
+    private boolean                 mUseVisibleAutoScale;
+
+    /**
+     * The geometry which is currently drawn and the back buffer, into which the next geometry is
+     * calculated in the asynchronous mode.
+     */
+    private ValueLineGeometry       mGeometry     = new ValueLineGeometry();
+    private ValueLineGeometry       mBackGeometry = new ValueLineGeometry();
+
+    /**
+     * The settings for the next asynchronous calculation. The worker thread copies them into the
+     * back buffer when the calculation starts, so they are guarded by their own lock.
+     */
+    private final ValueLineGeometry mSettings     = new ValueLineGeometry();
+
+    /**
+     * Incremented with every calculation, so older calculations can detect that they are outdated.
+     */
+    private final AtomicInteger     mGeometryVersion = new AtomicInteger();
+    private Future<?>               mGeometryTask;
+    private int                     mAppliedGeometryVersion;
+
+    /**
+     * The points which were appended while an asynchronous calculation was running, and their series.
+     */
+    private final List<ValueLineSeries> mQueuedSeries = new ArrayList<ValueLineSeries>();
+    private final List<ValueLinePoint>  mQueuedPoints = new ArrayList<ValueLinePoint>();
+
+    /**
+     * The layout of the legend labels of the first series and the access to its labels.
+     */
+    private final LegendLayout      mLegendLayout = new LegendLayout();
+
+    private final LegendLayout.LabelProvider mLegendLabels = new LegendLayout.LabelProvider() {
+        @Override
+        public String getLabel(int _Index) {
+            return mSeries.get(0).getLegendLabelAt(_Index);
+        }
+
+        @Override
+        public float getCenterX(int _Index) {
+            return getZoomedX(_Index);
+        }
+
+        @Override
+        public void setLabelPosition(int _Index, int _Position) {
+            ValueLineSeries series = mSeries.get(0);
+            if (series instanceof ColumnarValueLineSeries) {
+                ((ColumnarValueLineSeries) series).setLegendLabelPositionAt(_Index, _Position);
+            } else {
+                series.getSeries().get(_Index).setLegendLabelPosition(_Position);
+            }
+        }
+    };
+
+    /**
+     * The value range which is currently shown by the automatic scaling, the range from which it is
+     * animated and the range to which it is animated.
+     */
+    private boolean                 mHasVisibleRange;
+    private float                   mVisibleMinValue;
+    private float                   mVisibleMaxValue;
+    private float                   mStartMinValue;
+    private float                   mStartMaxValue;
+    private float                   mTargetMinValue;
+    private float                   mTargetMaxValue;
+    private float[]                 mVisibleRange = new float[2];
+
+    /**
+     * The vertical transformation of the automatic scaling, which is applied on top of the Paths.
+     */
+    private float                   mAutoScaleY       = 1.f;
+    private float                   mAutoTranslationY = 0.f;
+
+    /**
+     * Reused text boundaries of the indicator texts.
+     */
+    private Rect                    mValueTextBounds  = new Rect();
+    private Rect                    mLegendTextBounds = new Rect();
 
     protected Matrix                mDrawMatrix = new Matrix();
+    private   Matrix                mScaleMatrix = new Matrix();
     private   float[]               mDrawMatrixValues = new float[] {1f, 0f, 0f,
                                                                      0f, 1f, 0f,
                                                                      0f, 0f, 1f};
@@ -1551,6 +3096,7 @@ public class ValueLineChart extends BaseChart {
     private GestureDetector         mGestureDetector;
     private Scroller                mScroller;
     private ValueAnimator           mScrollAnimator;
+    private ValueAnimator           mAutoScaleAnimator;
 
 
 }
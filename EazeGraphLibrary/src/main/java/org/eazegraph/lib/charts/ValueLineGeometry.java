@@ -0,0 +1,220 @@
+/**
+ *
+ *   Copyright (C) 2014 Paul Cech
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.eazegraph.lib.charts;
+
+import android.graphics.Path;
+
+import org.eazegraph.lib.models.StandardValue;
+import org.eazegraph.lib.models.ValueLineSeries;
+import org.eazegraph.lib.utils.MinMaxPyramid;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Holds the geometry which the {@link ValueLineChart} calculates from its data: the value range,
+ * the y-scale and the generated Path of every series. The chart keeps two instances, so the next
+ * geometry can be calculated on a worker thread while the current one is drawn. The Paths, pyramids
+ * and index arrays of an instance are reused every time it is calculated again.
+ */
+class ValueLineGeometry {
+
+    /**
+     * Makes sure that the per series arrays can hold the given amount of series.
+     * @param _SeriesCount Amount of series.
+     */
+    void ensureSeriesCount(int _SeriesCount) {
+        if (mPaths.length < _SeriesCount) {
+            Path[]          paths    = new Path[_SeriesCount];
+            MinMaxPyramid[] pyramids = new MinMaxPyramid[_SeriesCount];
+            int[][]         indices  = new int[_SeriesCount][];
+
+            System.arraycopy(mPaths,          0, paths,    0, mPaths.length);
+            System.arraycopy(mPyramids,       0, pyramids, 0, mPyramids.length);
+            System.arraycopy(mSampledIndices, 0, indices,  0, mSampledIndices.length);
+
+            mPaths           = paths;
+            mPyramids        = pyramids;
+            mSampledIndices  = indices;
+            mWidthOffsets    = new float[_SeriesCount];
+            mSeriesMaxValues = new float[_SeriesCount];
+            mSeriesMinValues = new float[_SeriesCount];
+        }
+    }
+
+    /**
+     * Makes sure that the standard value array can hold the given amount of values.
+     * @param _Count Amount of standard values.
+     */
+    void ensureStandardValueCount(int _Count) {
+        if (mStandardValueYs.length < _Count) {
+            mStandardValueYs = new int[_Count];
+        }
+    }
+
+    /**
+     * Copies the settings, series and standard values of the chart, which were captured in another geometry.
+     * @param _Other The geometry which holds the settings.
+     */
+    void copySettings(ValueLineGeometry _Other) {
+        mGraphWidth             = _Other.mGraphWidth;
+        mGraphHeight            = _Other.mGraphHeight;
+        mUsableGraphHeight      = _Other.mUsableGraphHeight;
+        mShowStandardValues     = _Other.mShowStandardValues;
+        mUseDynamicScaling      = _Other.mUseDynamicScaling;
+        mScalingFactor          = _Other.mScalingFactor;
+        mUseCubic               = _Other.mUseCubic;
+        mFirstMultiplier        = _Other.mFirstMultiplier;
+        mSecondMultiplier       = _Other.mSecondMultiplier;
+        mUseOverlapFill         = _Other.mUseOverlapFill;
+        mUseLevelOfDetail       = _Other.mUseLevelOfDetail;
+        mUseVisibleAutoScale    = _Other.mUseVisibleAutoScale;
+        mUseDownsampling        = _Other.mUseDownsampling;
+        mUseParallelCalculation = _Other.mUseParallelCalculation;
+        setData(_Other.mSeries, _Other.mStandardValues);
+    }
+
+    /**
+     * Copies the series and standard values of the chart into the lists of the geometry.
+     * @param _Series         The series of the chart.
+     * @param _StandardValues The standard values of the chart.
+     */
+    void setData(List<ValueLineSeries> _Series, List<StandardValue> _StandardValues) {
+        mSeries.clear();
+        for (int i = 0; i < _Series.size(); i++) {
+            mSeries.add(_Series.get(i));
+        }
+
+        mStandardValues.clear();
+        for (int i = 0; i < _StandardValues.size(); i++) {
+            mStandardValues.add(_StandardValues.get(i));
+        }
+    }
+
+    /**
+     * Calculates the y-coordinate of a value in the unzoomed graph.
+     * @param _Value The value.
+     * @return The y-coordinate in px.
+     */
+    float calculatePointY(float _Value) {
+        return mGraphHeight - ((_Value - mMinValue) * mHeightMultiplier);
+    }
+
+    /**
+     * Calculates the x-coordinate of a timestamp in the unzoomed graph.
+     * @param _Timestamp The timestamp.
+     * @return The x-coordinate in px.
+     */
+    float calculateTimeX(long _Timestamp) {
+        return (float) ((_Timestamp - mTimeStart) * mTimeMultiplier);
+    }
+
+    /**
+     * Calculates the timestamp at an x-coordinate of the unzoomed graph.
+     * @param _X The x-coordinate in px.
+     * @return The timestamp, rounded down.
+     */
+    long calculateTimeAtX(float _X) {
+        return mTimeStart + (long) Math.floor(_X / mTimeMultiplier);
+    }
+
+    /**
+     * The settings of the chart for which the geometry is calculated. They are copied on the main
+     * thread before the calculation starts, so the worker thread never reads the fields of the chart.
+     */
+    int             mGraphWidth;
+    float           mGraphHeight;
+    int             mUsableGraphHeight;
+    boolean         mShowStandardValues;
+    boolean         mUseDynamicScaling;
+    float           mScalingFactor;
+    boolean         mUseCubic;
+    float           mFirstMultiplier;
+    float           mSecondMultiplier;
+    boolean         mUseOverlapFill;
+    boolean         mUseLevelOfDetail;
+    boolean         mUseVisibleAutoScale;
+    boolean         mUseDownsampling;
+    boolean         mUseParallelCalculation;
+
+    /**
+     * The minimum value and height multiplier, which map a value to its y-coordinate.
+     */
+    float           mMinValue;
+    float           mHeightMultiplier;
+
+    boolean         mHasNegativeValues;
+    float           mNegativeValue;
+    float           mNegativeOffset;
+
+    /**
+     * The value range in which points can be appended without recalculating the whole graph.
+     */
+    float           mAppendMinValue;
+    float           mAppendMaxValue;
+
+    /**
+     * The time range of all timed series, which is mapped onto the width of the graph, and the
+     * multiplier which maps a time difference to px.
+     */
+    boolean         mHasTimeRange;
+    long            mTimeStart;
+    long            mTimeEnd;
+    double          mTimeMultiplier;
+
+    /**
+     * The horizontal part of the unzoomed graph, for which the Paths were generated.
+     */
+    float           mPathSpanLeft;
+    float           mPathSpanRight;
+
+    /**
+     * The y-coordinates of the standard values.
+     */
+    int[]           mStandardValueYs = new int[0];
+
+    /**
+     * The calculated information per series, in the order of the series in the chart.
+     */
+    Path[]          mPaths           = new Path[0];
+    MinMaxPyramid[] mPyramids        = new MinMaxPyramid[0];
+    int[][]         mSampledIndices  = new int[0][];
+    float[]         mWidthOffsets    = new float[0];
+
+    /**
+     * The value range of every series, which is reduced to the value range of the graph.
+     */
+    float[]         mSeriesMaxValues = new float[0];
+    float[]         mSeriesMinValues = new float[0];
+
+    /**
+     * The series and standard values for which the geometry is calculated on the worker thread.
+     */
+    final List<ValueLineSeries> mSeries         = new ArrayList<ValueLineSeries>();
+    final List<StandardValue>   mStandardValues = new ArrayList<StandardValue>();
+
+    /**
+     * The tasks which calculate one series each on the parallel executor, and the step, the series
+     * and the version of the calculation they currently run for.
+     */
+    final List<Callable<Void>>  mSeriesTasks    = new ArrayList<Callable<Void>>();
+    List<ValueLineSeries>       mTaskSeries;
+    int                         mTaskStep;
+    int                         mTaskVersion;
+}
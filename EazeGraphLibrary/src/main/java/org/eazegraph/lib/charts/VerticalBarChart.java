@@ -29,9 +29,12 @@ import android.view.MotionEvent;
 import org.eazegraph.lib.R;
 import org.eazegraph.lib.models.BarModel;
 import org.eazegraph.lib.models.BaseModel;
+import org.eazegraph.lib.utils.TextMeasureCache;
 import org.eazegraph.lib.utils.Utils;
+import org.eazegraph.lib.utils.ValueLabelCache;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -120,6 +123,25 @@ public class VerticalBarChart extends BaseBarChart {
         onDataChanged();
     }
 
+    /**
+     * Appends all {@link org.eazegraph.lib.models.BarModel}s of the collection to the BarChart. The
+     * chart is recalculated only once for the whole collection.
+     * @param _Bars The bars which will be added to the chart.
+     */
+    public void addBars(Collection<? extends BarModel> _Bars) {
+        mData.addAll(_Bars);
+        onDataChanged();
+    }
+
+    /**
+     * Sets new values for all bars and animates the bars whose bounds change from their old to their
+     * new bounds, instead of replaying the reveal animation.
+     * @param _Values The new values, one for every bar in the order of {@link #getData()}.
+     */
+    public void animateValues(float[] _Values) {
+        startValueTransition(mData, _Values);
+    }
+
     /**
      * Returns the data which is currently present in the chart.
      * @return The currently used data.
@@ -143,7 +165,7 @@ public class VerticalBarChart extends BaseBarChart {
      */
     public void setMaximumValue(float _maximumValue) {
         mMaximumValue = _maximumValue;
-        onDataChanged();
+        invalidateLayout(DIRTY_DATA);
     }
 
     /**
@@ -160,7 +182,7 @@ public class VerticalBarChart extends BaseBarChart {
      */
     public void setUseMaximumValue(boolean _useMaximumValue) {
         mUseMaximumValue = _useMaximumValue;
-        onDataChanged();
+        invalidateLayout(DIRTY_DATA);
     }
 
     /**
@@ -193,7 +215,7 @@ public class VerticalBarChart extends BaseBarChart {
      */
     public void setBarLabel(boolean _showBarLabel) {
         mShowBarLabel = _showBarLabel;
-        onDataChanged();
+        invalidateLayout(DIRTY_STYLE);
     }
 
     /**
@@ -262,6 +284,9 @@ public class VerticalBarChart extends BaseBarChart {
      */
     @Override
     protected void onDataChanged() {
+        if (deferDataChanged()) {
+            return;
+        }
         calculateBarPositions(mData.size());
         super.onDataChanged();
     }
@@ -273,7 +298,7 @@ public class VerticalBarChart extends BaseBarChart {
      */
     protected void calculateBounds(float _Width, float _Margin) {
         float maxValue       = 0;
-        int   last           = 0;
+        float last           = 0;
         float maxLegendWidth = 0;
 
         if (mUseMaximumValue) {
@@ -291,7 +316,7 @@ public class VerticalBarChart extends BaseBarChart {
         if (mShowBarLabel) {
             float measuredText;
             for (BarModel model : mData) {
-                measuredText = mValuePaint.measureText(model.getLegendLabel());
+                measuredText = TextMeasureCache.getInstance().measureText(mValuePaint, model.getLegendLabel());
                 if (maxLegendWidth < measuredText) {
                     maxLegendWidth = measuredText;
                 }
@@ -308,8 +333,6 @@ public class VerticalBarChart extends BaseBarChart {
             model.setLegendBounds(new RectF(last, 0, last + _Width, mLegendHeight));
             last += _Width + (_Margin / 2);
         }
-
-        Utils.calculateLegendInformation(mData, 0, mContentRect.width(), mLegendPaint);
         mMaxFontHeight = Utils.calculateMaxTextHeight(mValuePaint, "190");
     }
 
@@ -322,26 +345,48 @@ public class VerticalBarChart extends BaseBarChart {
     protected void drawBars(Canvas _Canvas) {
 
         RectF  bounds;
-        String valueString;
+        int    valueLength;
         float  animatedRightOffset;
+        int    first = getFirstVisibleBar();
+        int    last  = getLastVisibleBar(mData.size());
+
+        if (!mBarBatch.isValid(first, last)) {
+            mBarBatch.begin(first, last, mCalculatedBarWidth);
+            for (int i = first; i <= last; i++) {
+                if (isInTransition(i)) {
+                    continue;
+                }
+                BarModel model = mData.get(i);
+                bounds = model.getBarBounds();
+                mBarBatch.addRow(model.getColor(), bounds.centerY(), bounds.left, bounds.right);
+            }
+        }
 
-        for (BarModel model : mData) {
+        // the bars grow from the left side of the graph while they are revealed
+        _Canvas.save();
+        _Canvas.scale(mRevealValue, 1, 0, 0);
+        mBarBatch.draw(_Canvas, mGraphPaint);
+        drawTransitionBars(_Canvas, mData, first, last);
+        _Canvas.restore();
+
+        mValueLabels.setFormat(mShowDecimal, mValueUnit);
+
+        for (int i = first; i <= last; i++) {
+            BarModel model      = mData.get(i);
             bounds              = model.getBarBounds();
-            valueString         = Utils.getFloatString(model.getValue(), mShowDecimal) + mValueUnit;
-            animatedRightOffset = bounds.right * mRevealValue;
 
-            mGraphPaint.setColor(model.getColor());
+            if (isInTransition(i)) {
+                interpolateTransition(i, bounds, mTransitionBounds);
+                bounds = mTransitionBounds;
+            }
 
-            _Canvas.drawRect(
-                    bounds.left,
-                    bounds.top,
-                    bounds.right * mRevealValue,
-                    bounds.bottom, mGraphPaint);
+            valueLength         = mValueLabels.getLabel(i, model.getValue());
+            animatedRightOffset = bounds.right * mRevealValue;
 
-            if (mShowValues && animatedRightOffset > mValuePaint.measureText(valueString)) {
+            if (mShowValues && animatedRightOffset > mValueLabels.getWidth(i, mValuePaint)) {
                 mValuePaint.setColor(mLegendColor);
                 _Canvas.drawText(
-                        valueString,
+                        mValueLabels.getChars(i), 0, valueLength,
                         bounds.left + mValueDistance,
                         bounds.centerY() + (mMaxFontHeight / 2),
                         mValuePaint
@@ -369,6 +414,11 @@ public class VerticalBarChart extends BaseBarChart {
         return mData;
     }
 
+    @Override
+    protected int getSegmentAt(int _Index, float _X, float _Y) {
+        return Utils.intersectsPointWithRectF(mData.get(_Index).getBarBounds(), _X, _Y) ? 0 : -1;
+    }
+
     @Override
     protected List<RectF> getBarBounds() {
         ArrayList<RectF> bounds = new ArrayList<RectF>();
@@ -401,4 +451,7 @@ public class VerticalBarChart extends BaseBarChart {
     private int             mBarLabelColor;
 
     private int             mValueDistance = (int) Utils.dpToPx(4);
+
+    private final ValueLabelCache mValueLabels = new ValueLabelCache();
+    private final RectF           mTransitionBounds = new RectF();
 }
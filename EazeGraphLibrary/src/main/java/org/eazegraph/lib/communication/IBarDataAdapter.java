@@ -0,0 +1,49 @@
+/**
+ *
+ *   Copyright (C) 2014 Paul Cech
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.eazegraph.lib.communication;
+
+import org.eazegraph.lib.models.BarModel;
+
+/**
+ * Provides the bars of a {@link org.eazegraph.lib.charts.BarChart} on demand, similar to a list
+ * adapter. The chart only binds the bars around the visible part of the chart and recycles the
+ * models of bars, which are scrolled out of this window.
+ */
+public interface IBarDataAdapter {
+
+    /**
+     * Returns the amount of bars.
+     * @return Amount of bars.
+     */
+    int getCount();
+
+    /**
+     * Returns the maximum value of all bars, which is used to scale the bars. It is requested
+     * instead of binding every bar to find the maximum.
+     * @return The maximum value.
+     */
+    float getMaxValue();
+
+    /**
+     * Binds the bar at the given position to a recycled model, by setting its value, color and
+     * legend label.
+     * @param _Position Position of the bar.
+     * @param _Bar      The model, which shows the bar.
+     */
+    void onBindBar(int _Position, BarModel _Bar);
+}
@@ -0,0 +1,32 @@
+/**
+ *
+ *   Copyright (C) 2014 Paul Cech
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.eazegraph.lib.communication;
+
+/**
+ * Click listener for bar charts, which reports the clicked segment of a stacked bar, too.
+ */
+public interface IOnBarSegmentClickedListener {
+
+    /**
+     * Called when a bar was clicked.
+     * @param _Position List position of the clicked bar.
+     * @param _Segment  Index of the clicked segment in a
+     *                  {@link org.eazegraph.lib.models.StackedBarModel}, or 0 for a simple bar.
+     */
+    void onBarSegmentClicked(int _Position, int _Segment);
+}
@@ -0,0 +1,282 @@
+/**
+ *
+ *   Copyright (C) 2014 Paul Cech
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.eazegraph.lib.models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Series for the {@link org.eazegraph.lib.charts.ValueLineChart} which stores its values, screen
+ * coordinates and legend information in primitive arrays instead of one {@link ValueLinePoint} per
+ * value. Legend labels are only stored if they were set explicitly, otherwise they are derived from
+ * the value when they are requested for the first time and cached.
+ *
+ * {@link ValueLinePoint} objects are only created if {@link #getSeries()} is called.
+ */
+public class ColumnarValueLineSeries extends ValueLineSeries {
+
+    public ColumnarValueLineSeries() {
+        this(DEF_INITIAL_CAPACITY);
+    }
+
+    /**
+     * Creates a new series with preallocated arrays.
+     * @param _initialCapacity The amount of values for which space is allocated.
+     */
+    public ColumnarValueLineSeries(int _initialCapacity) {
+        super();
+        allocate(Math.max(1, _initialCapacity));
+    }
+
+    /**
+     * Creates a new series which holds the given values.
+     * @param _values The values of the series. The array is copied.
+     */
+    public ColumnarValueLineSeries(float[] _values) {
+        this(_values.length);
+        System.arraycopy(_values, 0, mValues, 0, _values.length);
+        mSize = _values.length;
+    }
+
+    /**
+     * Adds a value, whose legend label is derived from the value itself.
+     * @param _value The value which should be added.
+     */
+    public void addValue(float _value) {
+        addValue(null, _value);
+    }
+
+    /**
+     * Adds a value with a custom legend label.
+     * @param _legendLabel The legend label or null, if the label should be derived from the value.
+     * @param _value       The value which should be added.
+     */
+    public void addValue(String _legendLabel, float _value) {
+        if (mSize == mValues.length) {
+            grow(mSize * 2);
+        }
+
+        if (_legendLabel != null) {
+            if (mLabels == null) {
+                mLabels = new String[mValues.length];
+            }
+            mLabels[mSize] = _legendLabel;
+        }
+
+        mValues[mSize++] = _value;
+        mMaterializedSeries = null;
+    }
+
+    /**
+     * Adds the value and label of the point. The point itself is not stored.
+     * @param _valueLinePoint The point whose value should be added.
+     */
+    @Override
+    public void addPoint(ValueLinePoint _valueLinePoint) {
+        addValue(_valueLinePoint.getLegendLabel(), _valueLinePoint.getValue());
+    }
+
+    /**
+     * Creates a {@link ValueLinePoint} for every value. The list is cached until the series is
+     * modified, but changes to the returned points are not written back into the series.
+     * @return A list which represents the current values.
+     */
+    @Override
+    public List<ValueLinePoint> getSeries() {
+        if (mMaterializedSeries == null) {
+            List<ValueLinePoint> points = new ArrayList<ValueLinePoint>(mSize);
+            for (int i = 0; i < mSize; i++) {
+                ValueLinePoint point = new ValueLinePoint(getLegendLabelAt(i), mValues[i]);
+                point.setCoordinates(new Point2D(mXs[i], mYs[i]));
+                points.add(point);
+            }
+            mMaterializedSeries = points;
+        }
+        return mMaterializedSeries;
+    }
+
+    /**
+     * Replaces all values with the values and labels of the given points.
+     * @param _series The points which should be copied into the series.
+     */
+    @Override
+    public void setSeries(List<ValueLinePoint> _series) {
+        mSize            = 0;
+        mCoordinateCount = 0;
+        mLabels          = null;
+        mDerivedLabels   = null;
+        if (mValues.length < _series.size()) {
+            allocate(_series.size());
+        }
+        for (ValueLinePoint point : _series) {
+            addPoint(point);
+        }
+        mMaterializedSeries = null;
+    }
+
+    @Override
+    public int getPointCount() {
+        return mSize;
+    }
+
+    @Override
+    public float getValueAt(int _index) {
+        return mValues[_index];
+    }
+
+    @Override
+    public String getLegendLabelAt(int _index) {
+        String label = mLabels != null ? mLabels[_index] : null;
+        return label != null ? label : getDerivedLabelAt(_index);
+    }
+
+    /**
+     * Returns the label which is derived from the value. The label is only formatted once, so the
+     * legend does not allocate a String for every visible label on every frame.
+     * @param _index Index of the value.
+     * @return The derived label.
+     */
+    private String getDerivedLabelAt(int _index) {
+        if (mDerivedLabels == null) {
+            mDerivedLabels = new String[mValues.length];
+        }
+
+        String label = mDerivedLabels[_index];
+        if (label == null) {
+            label = "" + mValues[_index];
+            mDerivedLabels[_index] = label;
+        }
+        return label;
+    }
+
+    @Override
+    public float getXAt(int _index) {
+        return mXs[_index];
+    }
+
+    @Override
+    public float getYAt(int _index) {
+        return mYs[_index];
+    }
+
+    @Override
+    public void setCoordinatesAt(int _index, float _x, float _y) {
+        mXs[_index] = _x;
+        mYs[_index] = _y;
+        mCoordinateCount = Math.max(mCoordinateCount, _index + 1);
+        mMaterializedSeries = null;
+    }
+
+    @Override
+    public boolean hasCoordinatesAt(int _index) {
+        return _index < mCoordinateCount;
+    }
+
+    /**
+     * Returns the x-coordinate of the legend label of the value.
+     * @param _index Index of the value.
+     * @return The x-coordinate of the label.
+     */
+    public int getLegendLabelPositionAt(int _index) {
+        return mLabelPositions[_index];
+    }
+
+    /**
+     * Sets the x-coordinate of the legend label of the value.
+     * @param _index         Index of the value.
+     * @param _labelPosition The x-coordinate of the label.
+     */
+    public void setLegendLabelPositionAt(int _index, int _labelPosition) {
+        mLabelPositions[_index] = _labelPosition;
+    }
+
+    private void allocate(int _capacity) {
+        mValues         = new float[_capacity];
+        mXs             = new float[_capacity];
+        mYs             = new float[_capacity];
+        mLabelPositions = new int[_capacity];
+    }
+
+    private void grow(int _capacity) {
+        float[] values    = mValues;
+        float[] xs        = mXs;
+        float[] ys        = mYs;
+        int[]   positions = mLabelPositions;
+
+        allocate(_capacity);
+        System.arraycopy(values,    0, mValues,         0, mSize);
+        System.arraycopy(xs,        0, mXs,             0, mSize);
+        System.arraycopy(ys,        0, mYs,             0, mSize);
+        System.arraycopy(positions, 0, mLabelPositions, 0, mSize);
+
+        if (mLabels != null) {
+            String[] labels = new String[_capacity];
+            System.arraycopy(mLabels, 0, labels, 0, mSize);
+            mLabels = labels;
+        }
+
+        if (mDerivedLabels != null) {
+            String[] labels = new String[_capacity];
+            System.arraycopy(mDerivedLabels, 0, labels, 0, mSize);
+            mDerivedLabels = labels;
+        }
+    }
+
+    private static final int DEF_INITIAL_CAPACITY = 16;
+
+    /**
+     * The values of the series.
+     */
+    private float[]     mValues;
+
+    /**
+     * Amount of values in the series.
+     */
+    private int         mSize;
+
+    /**
+     * The custom legend labels. Null as long as no custom label was set.
+     */
+    private String[]    mLabels;
+
+    /**
+     * The labels which were derived from the values. Null as long as no derived label was requested.
+     */
+    private String[]    mDerivedLabels;
+
+    /**
+     * The coordinates for the chart. These are calculated dynamically.
+     */
+    private float[]     mXs;
+    private float[]     mYs;
+
+    /**
+     * Amount of values whose coordinates were calculated.
+     */
+    private int         mCoordinateCount;
+
+    /**
+     * The x-coordinates of the legend labels. These are calculated dynamically.
+     */
+    private int[]       mLabelPositions;
+
+    /**
+     * The points which were created by the last call of getSeries().
+     */
+    private List<ValueLinePoint> mMaterializedSeries;
+}
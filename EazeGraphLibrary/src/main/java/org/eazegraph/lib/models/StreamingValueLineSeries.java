@@ -0,0 +1,269 @@
+/**
+ *
+ *   Copyright (C) 2014 Paul Cech
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.eazegraph.lib.models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Series for the {@link org.eazegraph.lib.charts.ValueLineChart} which only holds the last values
+ * of a live data stream. The values are stored in a ring buffer, so adding a value does not allocate
+ * any objects. The minimum and maximum of the current window are tracked with monotonic queues.
+ *
+ * As no {@link ValueLinePoint} objects are stored, the series does not provide legend labels and
+ * cannot be focused by the indicator. It is always drawn with straight lines.
+ */
+public class StreamingValueLineSeries extends ValueLineSeries {
+
+    /**
+     * Creates a new streaming series.
+     * @param _capacity The amount of values which are shown at once.
+     */
+    public StreamingValueLineSeries(int _capacity) {
+        super();
+        setCapacity(_capacity);
+    }
+
+    /**
+     * Adds a new value to the end of the window. If the window is full, the oldest value is dropped.
+     * @param _value The value which should be added.
+     */
+    public void addValue(float _value) {
+        int  capacity = mValues.length;
+        long index    = mTotalCount++;
+
+        mValues[(int) (index % capacity)] = _value;
+        if (mSize < capacity) {
+            mSize++;
+        }
+
+        long first = mTotalCount - mSize;
+
+        // drop the indices which left the window
+        while (mMinCount > 0 && mMinQueue[mMinHead] < first) {
+            mMinHead = (mMinHead + 1) % capacity;
+            mMinCount--;
+        }
+        while (mMaxCount > 0 && mMaxQueue[mMaxHead] < first) {
+            mMaxHead = (mMaxHead + 1) % capacity;
+            mMaxCount--;
+        }
+
+        // drop the values which can never become the minimum or maximum again
+        while (mMinCount > 0 && getValueOf(mMinQueue[(mMinHead + mMinCount - 1) % capacity]) >= _value) {
+            mMinCount--;
+        }
+        while (mMaxCount > 0 && getValueOf(mMaxQueue[(mMaxHead + mMaxCount - 1) % capacity]) <= _value) {
+            mMaxCount--;
+        }
+
+        mMinQueue[(mMinHead + mMinCount++) % capacity] = index;
+        mMaxQueue[(mMaxHead + mMaxCount++) % capacity] = index;
+    }
+
+    /**
+     * Adds the value of the point. The point itself is not stored.
+     * @param _valueLinePoint The point whose value should be added.
+     */
+    @Override
+    public void addPoint(ValueLinePoint _valueLinePoint) {
+        addValue(_valueLinePoint.getValue());
+    }
+
+    /**
+     * Creates points for the values of the current window. Streaming series do not hold any point
+     * objects, so a new list is created on every call.
+     * @return The points of the current window, starting with the oldest value.
+     */
+    @Override
+    public List<ValueLinePoint> getSeries() {
+        List<ValueLinePoint> points = new ArrayList<ValueLinePoint>(mSize);
+
+        for (int i = 0; i < mSize; i++) {
+            ValueLinePoint point = new ValueLinePoint(getValueAt(i));
+            if (hasCoordinatesAt(i)) {
+                point.setCoordinates(new Point2D(getXAt(i), getYAt(i)));
+            }
+            points.add(point);
+        }
+
+        return points;
+    }
+
+    @Override
+    public int getPointCount() {
+        return mSize;
+    }
+
+    /**
+     * Changes the amount of values which are shown at once. The newest values are kept, so the
+     * window is truncated at its start if the capacity shrinks. The chart has to be updated afterwards.
+     * @param _capacity The amount of values which are shown at once.
+     */
+    @Override
+    public void setCapacity(int _capacity) {
+        if (_capacity < 2) {
+            throw new IllegalArgumentException("The capacity has to be at least 2");
+        }
+
+        float[] values = mValues;
+        int     size   = Math.min(mSize, _capacity);
+        long    first  = mTotalCount - size;
+
+        mValues         = new float[_capacity];
+        mYs             = new float[_capacity];
+        mMinQueue       = new long[_capacity];
+        mMaxQueue       = new long[_capacity];
+        mMinHead        = 0;
+        mMinCount       = 0;
+        mMaxHead        = 0;
+        mMaxCount       = 0;
+        mSize           = 0;
+        mTotalCount     = first;
+        mCoordinatesEnd = first;
+
+        for (long i = first; i < first + size; i++) {
+            addValue(values[(int) (i % values.length)]);
+        }
+
+        super.setCapacity(_capacity);
+    }
+
+    /**
+     * Returns the x-coordinate of the value at the given position of the window. The window always
+     * starts at x = 0.
+     * @param _index Position in the window, where 0 is the oldest value.
+     * @return The x-coordinate in px.
+     */
+    @Override
+    public float getXAt(int _index) {
+        return _index * getWidthOffset();
+    }
+
+    @Override
+    public float getYAt(int _index) {
+        return mYs[(int) ((getFirstIndex() + _index) % mYs.length)];
+    }
+
+    @Override
+    public boolean hasCoordinatesAt(int _index) {
+        return _index < mSize && getFirstIndex() + _index < mCoordinatesEnd;
+    }
+
+    /**
+     * Stores the y-coordinate of the value at the given position of the window. The x-coordinate
+     * follows from the position and the width offset.
+     */
+    @Override
+    public void setCoordinatesAt(int _index, float _x, float _y) {
+        long index = getFirstIndex() + _index;
+
+        mYs[(int) (index % mYs.length)] = _y;
+        mCoordinatesEnd = Math.max(mCoordinatesEnd, index + 1);
+    }
+
+    /**
+     * Returns the value at the given position of the window.
+     * @param _index Position in the window, where 0 is the oldest value.
+     * @return The value.
+     */
+    @Override
+    public float getValueAt(int _index) {
+        return getValueOf(getFirstIndex() + _index);
+    }
+
+    /**
+     * Returns the minimum value of the current window.
+     * @return Minimum value.
+     */
+    public float getMin() {
+        return getValueOf(mMinQueue[mMinHead]);
+    }
+
+    /**
+     * Returns the maximum value of the current window.
+     * @return Maximum value.
+     */
+    public float getMax() {
+        return getValueOf(mMaxQueue[mMaxHead]);
+    }
+
+    /**
+     * Returns the absolute index of the oldest value in the window, counted since the series was created.
+     * @return Absolute index of the first value.
+     */
+    public long getFirstIndex() {
+        return mTotalCount - mSize;
+    }
+
+    /**
+     * Returns the absolute index of the first value which was used to generate the current Path.
+     * @return Absolute index at which the Path starts.
+     */
+    public long getPathOrigin() {
+        return mPathOrigin;
+    }
+
+    public void setPathOrigin(long _pathOrigin) {
+        mPathOrigin = _pathOrigin;
+    }
+
+    private float getValueOf(long _absoluteIndex) {
+        return mValues[(int) (_absoluteIndex % mValues.length)];
+    }
+
+    /**
+     * Ring buffer which holds the values of the window.
+     */
+    private float[] mValues;
+
+    /**
+     * Ring buffer which holds the y-coordinates of the window. This is calculated dynamically.
+     */
+    private float[] mYs;
+
+    /**
+     * Absolute index after the last value whose y-coordinate was calculated.
+     */
+    private long    mCoordinatesEnd;
+
+    /**
+     * Amount of values in the window.
+     */
+    private int     mSize;
+
+    /**
+     * Amount of values which were added since the series was created.
+     */
+    private long    mTotalCount;
+
+    /**
+     * Monotonic queues of absolute indices, whose heads always point to the minimum and maximum value of the window.
+     */
+    private long[]  mMinQueue;
+    private int     mMinHead;
+    private int     mMinCount;
+    private long[]  mMaxQueue;
+    private int     mMaxHead;
+    private int     mMaxCount;
+
+    /**
+     * Absolute index of the first value in the Path. This is calculated dynamically.
+     */
+    private long    mPathOrigin;
+}
@@ -0,0 +1,142 @@
+/**
+ *
+ *   Copyright (C) 2014 Paul Cech
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.eazegraph.lib.models;
+
+/**
+ * Columnar series for the {@link org.eazegraph.lib.charts.ValueLineChart} whose values are keyed by
+ * a timestamp. The timestamps are stored in a primitive array and have to be ascending, but they
+ * don't need to be evenly spaced. The chart maps the x-coordinate of a value from its timestamp
+ * instead of its index, so gaps in the data stay visible.
+ *
+ * Values which are added without a timestamp, for example by {@link #addPoint(ValueLinePoint)} or
+ * {@link #setSeries(java.util.List)}, get the timestamp of the previous value plus one, or 0 if
+ * they are the first value.
+ */
+public class TimedValueLineSeries extends ColumnarValueLineSeries {
+
+    public TimedValueLineSeries() {
+        this(DEF_INITIAL_CAPACITY);
+    }
+
+    /**
+     * Creates a new series with preallocated arrays.
+     * @param _initialCapacity The amount of values for which space is allocated.
+     */
+    public TimedValueLineSeries(int _initialCapacity) {
+        super(_initialCapacity);
+        mTimestamps = new long[Math.max(1, _initialCapacity)];
+    }
+
+    /**
+     * Creates a new series which holds the given values.
+     * @param _timestamps The ascending timestamps of the values. The array is copied.
+     * @param _values     The values of the series. The array is copied.
+     */
+    public TimedValueLineSeries(long[] _timestamps, float[] _values) {
+        this(_values.length);
+
+        if (_timestamps.length != _values.length) {
+            throw new IllegalArgumentException("Every value needs a timestamp");
+        }
+
+        for (int i = 0; i < _values.length; i++) {
+            addValue(_timestamps[i], _values[i]);
+        }
+    }
+
+    /**
+     * Adds a value, whose legend label is derived from the value itself.
+     * @param _timestamp The timestamp of the value. Must not be smaller than the last timestamp.
+     * @param _value     The value which should be added.
+     */
+    public void addValue(long _timestamp, float _value) {
+        addValue(_timestamp, null, _value);
+    }
+
+    /**
+     * Adds a value with a custom legend label.
+     * @param _timestamp   The timestamp of the value. Must not be smaller than the last timestamp.
+     * @param _legendLabel The legend label or null, if the label should be derived from the value.
+     * @param _value       The value which should be added.
+     */
+    public void addValue(long _timestamp, String _legendLabel, float _value) {
+        int size = getPointCount();
+
+        if (size > 0 && _timestamp < mTimestamps[size - 1]) {
+            throw new IllegalArgumentException("The timestamps have to be ascending");
+        }
+
+        if (size == mTimestamps.length) {
+            long[] timestamps = new long[size * 2];
+            System.arraycopy(mTimestamps, 0, timestamps, 0, size);
+            mTimestamps = timestamps;
+        }
+
+        super.addValue(_legendLabel, _value);
+        mTimestamps[size] = _timestamp;
+    }
+
+    /**
+     * Adds a value with a custom legend label. The value gets the timestamp of the previous value
+     * plus one, or 0 if it is the first value.
+     * @param _legendLabel The legend label or null, if the label should be derived from the value.
+     * @param _value       The value which should be added.
+     */
+    @Override
+    public void addValue(String _legendLabel, float _value) {
+        int size = getPointCount();
+        addValue(size > 0 ? mTimestamps[size - 1] + 1 : 0, _legendLabel, _value);
+    }
+
+    /**
+     * Returns the timestamp of the value at the given index.
+     * @param _index Index of the value.
+     * @return The timestamp.
+     */
+    public long getTimestampAt(int _index) {
+        return mTimestamps[_index];
+    }
+
+    /**
+     * Searches the first value whose timestamp is not smaller than the given timestamp. As the
+     * timestamps are ascending, a binary search is used.
+     * @param _timestamp The timestamp.
+     * @return Index of the value, or the amount of values if every timestamp is smaller.
+     */
+    public int findIndex(long _timestamp) {
+        int low  = 0;
+        int high = getPointCount();
+
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (mTimestamps[middle] < _timestamp) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static final int DEF_INITIAL_CAPACITY = 16;
+
+    /**
+     * The timestamps of the values.
+     */
+    private long[]      mTimestamps;
+}
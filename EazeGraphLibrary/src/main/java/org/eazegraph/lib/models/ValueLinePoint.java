@@ -40,12 +40,29 @@ public class ValueLinePoint extends BaseModel implements Comparable {
         mValue = _value;
     }
 
+    /**
+     * Returns the coordinates of the point, which are calculated by the chart.
+     * @return The coordinates or null, if they were not calculated yet.
+     */
     public Point2D getCoordinates() {
-        return mCoordinates;
+        return mHasCoordinates ? mCoordinates : null;
     }
 
     public void setCoordinates(Point2D _coordinates) {
-        mCoordinates = _coordinates;
+        mCoordinates    = _coordinates != null ? _coordinates : new Point2D();
+        mHasCoordinates = _coordinates != null;
+    }
+
+    /**
+     * Sets the coordinates of the point. The existing Point2D object is reused, so the chart does
+     * not allocate any objects when the coordinates are calculated again.
+     * @param _x The x-coordinate in px.
+     * @param _y The y-coordinate in px.
+     */
+    public void setCoordinates(float _x, float _y) {
+        mCoordinates.setX(_x);
+        mCoordinates.setY(_y);
+        mHasCoordinates = true;
     }
 
     @Override
@@ -70,5 +87,6 @@ public class ValueLinePoint extends BaseModel implements Comparable {
     /**
      * The coordinates for the chart. These are calculated dynamically.
      */
-    private Point2D mCoordinates;
+    private Point2D mCoordinates    = new Point2D();
+    private boolean mHasCoordinates;
 }
@@ -41,10 +41,86 @@ public class ValueLineSeries {
         mSeries.add(_valueLinePoint);
     }
 
+    /**
+     * Returns the amount of points for which horizontal space is reserved in the chart.
+     * @return The capacity of the series.
+     */
+    public int getCapacity() {
+        return mCapacity;
+    }
+
+    /**
+     * Reserves horizontal space in the chart for the given amount of points. As long as the series
+     * holds less points than its capacity, the spacing between the points does not change and
+     * appended points only extend the existing Path.
+     * @param _capacity Amount of points for which space is reserved.
+     * @see org.eazegraph.lib.charts.ValueLineChart#appendPoint(ValueLineSeries, ValueLinePoint)
+     */
+    public void setCapacity(int _capacity) {
+        mCapacity = _capacity;
+    }
+
     public List<ValueLinePoint> getSeries() {
         return mSeries;
     }
 
+    /**
+     * Returns the amount of values in the series.
+     * @return Amount of values.
+     */
+    public int getPointCount() {
+        return mSeries.size();
+    }
+
+    /**
+     * Returns the value at the given index.
+     * @param _index Index of the value.
+     * @return The value.
+     */
+    public float getValueAt(int _index) {
+        return mSeries.get(_index).getValue();
+    }
+
+    /**
+     * Returns the legend label of the value at the given index.
+     * @param _index Index of the value.
+     * @return The legend label.
+     */
+    public String getLegendLabelAt(int _index) {
+        return mSeries.get(_index).getLegendLabel();
+    }
+
+    /**
+     * Returns the x-coordinate of the value at the given index. The coordinates are calculated by the chart.
+     * @param _index Index of the value.
+     * @return The x-coordinate in px.
+     */
+    public float getXAt(int _index) {
+        return mSeries.get(_index).getCoordinates().getX();
+    }
+
+    /**
+     * Returns the y-coordinate of the value at the given index. The coordinates are calculated by the chart.
+     * @param _index Index of the value.
+     * @return The y-coordinate in px.
+     */
+    public float getYAt(int _index) {
+        return mSeries.get(_index).getCoordinates().getY();
+    }
+
+    /**
+     * Checks if the coordinates of the value at the given index were already calculated.
+     * @param _index Index of the value.
+     * @return True if coordinates are available.
+     */
+    public boolean hasCoordinatesAt(int _index) {
+        return mSeries.get(_index).getCoordinates() != null;
+    }
+
+    public void setCoordinatesAt(int _index, float _x, float _y) {
+        mSeries.get(_index).setCoordinates(_x, _y);
+    }
+
     public void setSeries(List<ValueLinePoint> _series) {
         mSeries = _series;
     }
@@ -92,4 +168,9 @@ public class ValueLineSeries {
      * Indicates the offset between each point in the series. This is calculated dynamically.
      */
     private float                   mWidthOffset;
+
+    /**
+     * The amount of points for which horizontal space is reserved.
+     */
+    private int                     mCapacity;
 }
@@ -0,0 +1,194 @@
+/**
+ *
+ *   Copyright (C) 2014 Paul Cech
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.eazegraph.lib.utils;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+
+/**
+ * Collects the bars of a bar chart grouped by their color, so every color is drawn with a single
+ * {@link Canvas#drawLines(float[], int, int, Paint)} call instead of one drawRect call per bar. Every
+ * bar is stored as a line along its center, which is drawn with a stroke width equal to the bar
+ * thickness. The line arrays are reused, so the batch only allocates when a color group has to grow.
+ *
+ * The batch is built for a range of bars and is only rebuilt, if the range changes or the batch is
+ * invalidated after the layout of the chart changed.
+ */
+public class BarBatch {
+
+    /**
+     * Marks the batch as outdated, so it is rebuilt before it is drawn the next time.
+     */
+    public void invalidate() {
+        mValid = false;
+    }
+
+    /**
+     * Checks if the batch holds the bars of the given range and does not have to be rebuilt.
+     * @param _From Index of the first bar.
+     * @param _To   Index of the last bar.
+     * @return True if the batch is up to date.
+     */
+    public boolean isValid(int _From, int _To) {
+        return mValid && mFrom == _From && mTo == _To;
+    }
+
+    /**
+     * Removes all bars and starts to rebuild the batch for the given range.
+     * @param _From      Index of the first bar.
+     * @param _To        Index of the last bar.
+     * @param _Thickness The thickness of the bars.
+     */
+    public void begin(int _From, int _To, float _Thickness) {
+        for (int i = 0; i < mGroupCount; i++) {
+            mCounts[i] = 0;
+        }
+
+        mGroupCount = 0;
+        mLastGroup  = -1;
+        mFrom       = _From;
+        mTo         = _To;
+        mThickness  = _Thickness;
+        mValid      = true;
+    }
+
+    /**
+     * Adds a vertical bar.
+     * @param _Color   Color of the bar.
+     * @param _CenterX The horizontal center of the bar.
+     * @param _Top     The top of the bar.
+     * @param _Bottom  The bottom of the bar.
+     */
+    public void addColumn(int _Color, float _CenterX, float _Top, float _Bottom) {
+        addLine(_Color, _CenterX, _Bottom, _CenterX, _Top);
+    }
+
+    /**
+     * Adds a horizontal bar.
+     * @param _Color   Color of the bar.
+     * @param _CenterY The vertical center of the bar.
+     * @param _Left    The left end of the bar.
+     * @param _Right   The right end of the bar.
+     */
+    public void addRow(int _Color, float _CenterY, float _Left, float _Right) {
+        addLine(_Color, _Left, _CenterY, _Right, _CenterY);
+    }
+
+    /**
+     * Draws all bars with one call per color. The style of the Paint is restored afterwards.
+     * @param _Canvas The canvas.
+     * @param _Paint  The Paint which is used for the bars.
+     */
+    public void draw(Canvas _Canvas, Paint _Paint) {
+        Paint.Style style       = _Paint.getStyle();
+        Paint.Cap   cap         = _Paint.getStrokeCap();
+        float       strokeWidth = _Paint.getStrokeWidth();
+
+        _Paint.setStyle(Paint.Style.STROKE);
+        _Paint.setStrokeCap(Paint.Cap.BUTT);
+        _Paint.setStrokeWidth(mThickness);
+
+        for (int i = 0; i < mGroupCount; i++) {
+            _Paint.setColor(mColors[i]);
+            _Canvas.drawLines(mLines[i], 0, mCounts[i], _Paint);
+        }
+
+        _Paint.setStyle(style);
+        _Paint.setStrokeCap(cap);
+        _Paint.setStrokeWidth(strokeWidth);
+    }
+
+    private void addLine(int _Color, float _X0, float _Y0, float _X1, float _Y1) {
+        int group = findGroup(_Color);
+
+        float[] lines = mLines[group];
+        int     count = mCounts[group];
+
+        if (count + 4 > lines.length) {
+            float[] grown = new float[Math.max(DEF_GROUP_CAPACITY, lines.length * 2)];
+            System.arraycopy(lines, 0, grown, 0, count);
+            mLines[group] = lines = grown;
+        }
+
+        lines[count]     = _X0;
+        lines[count + 1] = _Y0;
+        lines[count + 2] = _X1;
+        lines[count + 3] = _Y1;
+        mCounts[group]   = count + 4;
+    }
+
+    /**
+     * Returns the group of the color and creates it, if it does not exist yet. Neighbouring bars
+     * often share their color, so the last used group is checked first.
+     */
+    private int findGroup(int _Color) {
+        if (mLastGroup >= 0 && mColors[mLastGroup] == _Color) {
+            return mLastGroup;
+        }
+
+        for (int i = 0; i < mGroupCount; i++) {
+            if (mColors[i] == _Color) {
+                mLastGroup = i;
+                return i;
+            }
+        }
+
+        if (mGroupCount == mColors.length) {
+            int       capacity = Math.max(4, mColors.length * 2);
+            int[]     colors   = new int[capacity];
+            int[]     counts   = new int[capacity];
+            float[][] lines    = new float[capacity][];
+
+            System.arraycopy(mColors, 0, colors, 0, mColors.length);
+            System.arraycopy(mCounts, 0, counts, 0, mCounts.length);
+            System.arraycopy(mLines,  0, lines,  0, mLines.length);
+
+            mColors = colors;
+            mCounts = counts;
+            mLines  = lines;
+        }
+
+        if (mLines[mGroupCount] == null) {
+            mLines[mGroupCount] = new float[DEF_GROUP_CAPACITY];
+        }
+
+        mColors[mGroupCount] = _Color;
+        mLastGroup = mGroupCount;
+        return mGroupCount++;
+    }
+
+    /**
+     * The initial amount of floats per color group, which holds 16 bars.
+     */
+    private static final int DEF_GROUP_CAPACITY = 64;
+
+    private boolean     mValid;
+    private int         mFrom;
+    private int         mTo;
+    private float       mThickness;
+
+    /**
+     * The color, the line coordinates and the amount of used coordinates per color group. The
+     * arrays of unused groups are kept for the next rebuild.
+     */
+    private int[]       mColors     = new int[0];
+    private float[][]   mLines      = new float[0][];
+    private int[]       mCounts     = new int[0];
+    private int         mGroupCount;
+    private int         mLastGroup  = -1;
+}
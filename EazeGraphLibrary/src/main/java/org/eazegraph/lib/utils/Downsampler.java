@@ -0,0 +1,106 @@
+/**
+ *
+ *   Copyright (C) 2014 Paul Cech
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.eazegraph.lib.utils;
+
+import org.eazegraph.lib.models.ValueLineSeries;
+
+/**
+ * Helper class which reduces big data sets to a smaller amount of points, which still
+ * represent the visual shape of the original data.
+ */
+public class Downsampler {
+
+    /**
+     * Disallow instantiation.
+     */
+    private Downsampler() {
+    }
+
+    /**
+     * Reduces the given points with the "Largest-Triangle-Three-Buckets" algorithm. The x-coordinate
+     * of a point is interpreted as its index, so only evenly spaced series are supported.
+     * The first and the last point of the range are always part of the result.
+     *
+     * @param _Series    The series whose points should be reduced.
+     * @param _From      Index of the first point of the range which is reduced.
+     * @param _To        Index of the last point of the range which is reduced.
+     * @param _Threshold The maximum amount of points which should be returned.
+     * @param _Result    Array in which the original indices of the chosen points are written.
+     *                   Has to be at least as big as the _Threshold or the amount of points in the range.
+     * @return The amount of indices written into _Result.
+     */
+    public static int largestTriangleThreeBuckets(ValueLineSeries _Series, int _From, int _To, int _Threshold, int[] _Result) {
+        int size = _To - _From + 1;
+
+        // nothing to reduce
+        if (_Threshold >= size || _Threshold < 3) {
+            for (int i = 0; i < size; i++) {
+                _Result[i] = _From + i;
+            }
+            return size;
+        }
+
+        // the first and the last point are not part of a bucket
+        float bucketSize = (float) (size - 2) / (float) (_Threshold - 2);
+        int   selected   = 0;
+        int   count      = 0;
+
+        _Result[count++] = _From;
+
+        for (int bucket = 0; bucket < _Threshold - 2; bucket++) {
+
+            // calculate the average point of the next bucket, which is used as the third triangle point
+            int nextStart = (int) ((bucket + 1) * bucketSize) + 1;
+            int nextEnd   = Math.min((int) ((bucket + 2) * bucketSize) + 1, size);
+
+            float avgX = 0;
+            float avgY = 0;
+            for (int i = nextStart; i < nextEnd; i++) {
+                avgX += i;
+                avgY += _Series.getValueAt(_From + i);
+            }
+            avgX /= (nextEnd - nextStart);
+            avgY /= (nextEnd - nextStart);
+
+            // choose the point of the current bucket which spans the largest triangle
+            int   rangeStart = (int) (bucket * bucketSize) + 1;
+            int   rangeEnd   = (int) ((bucket + 1) * bucketSize) + 1;
+            float selectedX  = selected;
+            float selectedY  = _Series.getValueAt(_From + selected);
+            float maxArea    = -1;
+            int   next       = rangeStart;
+
+            for (int i = rangeStart; i < rangeEnd; i++) {
+                float area = Math.abs((selectedX - avgX) * (_Series.getValueAt(_From + i) - selectedY)
+                        - (selectedX - i) * (avgY - selectedY));
+
+                if (area > maxArea) {
+                    maxArea = area;
+                    next = i;
+                }
+            }
+
+            _Result[count++] = _From + next;
+            selected = next;
+        }
+
+        _Result[count++] = _To;
+
+        return count;
+    }
+}
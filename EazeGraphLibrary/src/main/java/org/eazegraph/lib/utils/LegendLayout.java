@@ -0,0 +1,176 @@
+/**
+ *
+ *   Copyright (C) 2014 Paul Cech
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.eazegraph.lib.utils;
+
+import android.graphics.Paint;
+
+/**
+ * Lays out the legend labels of a chart, whose labels are evenly spaced. Instead of checking every
+ * label for collisions with the label before, every n-th label is shown, where n (the stride) is
+ * chosen from the widest label which was measured so far. As the shown labels only depend on their
+ * index, only the labels in the visible range have to be laid out. The positions of laid out labels
+ * are kept until the layout is invalidated, so scrolling only lays out the labels which become
+ * visible.
+ */
+public class LegendLayout {
+
+    /**
+     * Gives the layout access to the labels of a chart, independent of the way they are stored.
+     */
+    public interface LabelProvider {
+
+        /**
+         * Returns the label at the given index.
+         * @param _Index Index of the label.
+         * @return The label text.
+         */
+        String getLabel(int _Index);
+
+        /**
+         * Returns the x-coordinate around which the label is centered.
+         * @param _Index Index of the label.
+         * @return The x-coordinate in px.
+         */
+        float getCenterX(int _Index);
+
+        /**
+         * Stores the x-coordinate at which the label is drawn.
+         * @param _Index    Index of the label.
+         * @param _Position The x-coordinate in px.
+         */
+        void setLabelPosition(int _Index, int _Position);
+    }
+
+    public LegendLayout() {
+        mLabelMargin = Utils.dpToPx(DEF_LABEL_MARGIN);
+        reset();
+    }
+
+    /**
+     * Resets the layout and the measured label width. Should be called after the data changed.
+     */
+    public void reset() {
+        mMaxLabelWidth = 0;
+        invalidatePositions();
+    }
+
+    /**
+     * Discards the label positions, but keeps the measured label width. Should be called after the
+     * position of the labels changed, for example after zooming.
+     */
+    public void invalidatePositions() {
+        mLayoutFrom = 0;
+        mLayoutTo   = -1;
+    }
+
+    /**
+     * Lays out the labels between the given indices, which were not laid out since the last
+     * invalidation. The labels are centered around their x-coordinate, but moved into the legend
+     * if they would reach over one of its ends.
+     * @param _Labels The labels.
+     * @param _From   Index of the first visible label.
+     * @param _To     Index of the last visible label.
+     * @param _EndX   The right end of the legend.
+     * @param _Paint  The Paint which is used to draw the labels.
+     */
+    public void layout(LabelProvider _Labels, int _From, int _To, float _EndX, Paint _Paint) {
+        if (_From > _To) {
+            return;
+        }
+
+        if (_To < mLayoutFrom - 1 || _From > mLayoutTo + 1) {
+            // the range does not touch the laid out labels, so the old range is dropped
+            layoutRange(_Labels, _From, _To, _EndX, _Paint);
+            mLayoutFrom = _From;
+            mLayoutTo   = _To;
+        } else {
+            if (_From < mLayoutFrom) {
+                layoutRange(_Labels, _From, mLayoutFrom - 1, _EndX, _Paint);
+                mLayoutFrom = _From;
+            }
+            if (_To > mLayoutTo) {
+                layoutRange(_Labels, mLayoutTo + 1, _To, _EndX, _Paint);
+                mLayoutTo = _To;
+            }
+        }
+    }
+
+    /**
+     * Calculates which labels are shown, so that two shown labels do not overlap.
+     * @param _Spacing The distance between two neighbouring labels.
+     * @return Every label whose index is a multiple of the returned value is shown.
+     */
+    public int getStride(float _Spacing) {
+        if (_Spacing <= 0) {
+            return MAX_STRIDE;
+        }
+        return (int) Math.max(1, Math.min(MAX_STRIDE, Math.ceil((mMaxLabelWidth + mLabelMargin) / _Spacing)));
+    }
+
+    /**
+     * Returns the first shown label, whose index is not smaller than the given index.
+     * @param _From   The index.
+     * @param _Stride The stride from {@link #getStride(float)}.
+     * @return Index of the label.
+     */
+    public static int getFirstShownIndex(int _From, int _Stride) {
+        return ((Math.max(0, _From) + _Stride - 1) / _Stride) * _Stride;
+    }
+
+    /**
+     * Returns the width of the widest label which was measured since the last reset.
+     * @return Label width in px.
+     */
+    public float getMaxLabelWidth() {
+        return mMaxLabelWidth;
+    }
+
+    private void layoutRange(LabelProvider _Labels, int _From, int _To, float _EndX, Paint _Paint) {
+        for (int i = _From; i <= _To; i++) {
+            String label    = _Labels.getLabel(i);
+            float  width    = TextMeasureCache.getInstance().measureText(_Paint, label);
+            float  position = _Labels.getCenterX(i) - width / 2;
+
+            mMaxLabelWidth = Math.max(mMaxLabelWidth, width);
+            _Labels.setLabelPosition(i, (int) Math.max(0, Math.min(position, _EndX - width)));
+        }
+    }
+
+    /**
+     * The minimum distance between two shown labels in dp.
+     */
+    private static final float DEF_LABEL_MARGIN = 10.f;
+
+    /**
+     * The maximum stride, which leaves enough room to add it to an index without an overflow.
+     */
+    private static final int   MAX_STRIDE       = Integer.MAX_VALUE / 4;
+
+    private float       mLabelMargin;
+
+    /**
+     * The width of the widest label, which was measured since the last reset.
+     */
+    private float       mMaxLabelWidth;
+
+    /**
+     * The range of the labels which are laid out.
+     */
+    private int         mLayoutFrom;
+    private int         mLayoutTo;
+}
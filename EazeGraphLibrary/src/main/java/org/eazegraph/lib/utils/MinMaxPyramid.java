@@ -0,0 +1,289 @@
+/**
+ *
+ *   Copyright (C) 2014 Paul Cech
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.eazegraph.lib.utils;
+
+import org.eazegraph.lib.models.ValueLineSeries;
+
+/**
+ * A level of detail structure for big series. Every level splits the series into buckets and stores
+ * the minimum and maximum value of each bucket together with their indices. The bucket size doubles
+ * from level to level, beginning with two points per bucket on level 0.
+ * The first and last point of a bucket are not stored, as their indices are implicitly given by
+ * the bucket boundaries.
+ */
+public class MinMaxPyramid {
+
+    public MinMaxPyramid() {
+    }
+
+    /**
+     * Builds all levels for the given series. Already allocated arrays are reused, if they are big
+     * enough.
+     * @param _Series The series.
+     */
+    public void build(ValueLineSeries _Series) {
+        mSize = _Series.getPointCount();
+        mLevelCount = 0;
+
+        int bucketCount = (mSize + 1) / 2;
+        while (bucketCount >= MIN_BUCKET_COUNT) {
+            ensureLevel(mLevelCount, bucketCount);
+
+            float[] min      = mMin[mLevelCount];
+            float[] max      = mMax[mLevelCount];
+            int[]   minIndex = mMinIndex[mLevelCount];
+            int[]   maxIndex = mMaxIndex[mLevelCount];
+
+            if (mLevelCount == 0) {
+                // first level is built directly from the points
+                for (int bucket = 0; bucket < bucketCount; bucket++) {
+                    int   first      = bucket * 2;
+                    int   second     = Math.min(first + 1, mSize - 1);
+                    float firstValue  = _Series.getValueAt(first);
+                    float secondValue = _Series.getValueAt(second);
+
+                    boolean firstIsMin = firstValue <= secondValue;
+                    min[bucket]      = firstIsMin ? firstValue  : secondValue;
+                    minIndex[bucket] = firstIsMin ? first       : second;
+                    max[bucket]      = firstIsMin ? secondValue : firstValue;
+                    maxIndex[bucket] = firstIsMin ? second      : first;
+                }
+            } else {
+                // every other level is merged from two buckets of the level below
+                float[] lowerMin      = mMin[mLevelCount - 1];
+                float[] lowerMax      = mMax[mLevelCount - 1];
+                int[]   lowerMinIndex = mMinIndex[mLevelCount - 1];
+                int[]   lowerMaxIndex = mMaxIndex[mLevelCount - 1];
+                int     lowerCount    = mBucketCounts[mLevelCount - 1];
+
+                for (int bucket = 0; bucket < bucketCount; bucket++) {
+                    int left  = bucket * 2;
+                    int right = Math.min(left + 1, lowerCount - 1);
+
+                    boolean leftIsMin = lowerMin[left] <= lowerMin[right];
+                    min[bucket]      = leftIsMin ? lowerMin[left]      : lowerMin[right];
+                    minIndex[bucket] = leftIsMin ? lowerMinIndex[left] : lowerMinIndex[right];
+
+                    boolean leftIsMax = lowerMax[left] >= lowerMax[right];
+                    max[bucket]      = leftIsMax ? lowerMax[left]      : lowerMax[right];
+                    maxIndex[bucket] = leftIsMax ? lowerMaxIndex[left] : lowerMaxIndex[right];
+                }
+            }
+
+            mBucketCounts[mLevelCount] = bucketCount;
+            mLevelCount++;
+            bucketCount = (bucketCount + 1) / 2;
+        }
+    }
+
+    /**
+     * Returns the amount of built levels.
+     * @return Amount of levels.
+     */
+    public int getLevelCount() {
+        return mLevelCount;
+    }
+
+    /**
+     * Returns the amount of points which are merged into one bucket on the given level.
+     * @param _Level The level.
+     * @return Bucket size in points.
+     */
+    public int getBucketSize(int _Level) {
+        return 2 << _Level;
+    }
+
+    /**
+     * Chooses the coarsest level whose buckets are not bigger than the given amount of points.
+     * @param _PointsPerPixel Amount of points which fall on one pixel.
+     * @return The chosen level or -1 if the raw points should be used.
+     */
+    public int chooseLevel(float _PointsPerPixel) {
+        int level = -1;
+        while (level + 1 < mLevelCount && getBucketSize(level + 1) <= _PointsPerPixel) {
+            level++;
+        }
+        return level;
+    }
+
+    /**
+     * Returns the maximum amount of indices which are written by {@link #collectIndices} for the given range.
+     * @param _Level The level which is used.
+     * @param _From  Index of the first point.
+     * @param _To    Index of the last point.
+     * @return Needed size of the result array.
+     */
+    public int getMaxIndexCount(int _Level, int _From, int _To) {
+        int bucketSize = getBucketSize(_Level);
+        return ((_To / bucketSize) - (_From / bucketSize) + 1) * 4;
+    }
+
+    /**
+     * Collects the indices of the points which represent the given range on the given level. For every
+     * bucket the first, minimum, maximum and last point are collected in ascending order, so the
+     * visual extent of the series is kept.
+     * @param _Level  The level which is used.
+     * @param _From   Index of the first point.
+     * @param _To     Index of the last point.
+     * @param _Result Array in which the indices are written.
+     * @return The amount of indices written into _Result.
+     */
+    public int collectIndices(int _Level, int _From, int _To, int[] _Result) {
+        int   bucketSize = getBucketSize(_Level);
+        int[] minIndex   = mMinIndex[_Level];
+        int[] maxIndex   = mMaxIndex[_Level];
+        int   count      = 0;
+
+        for (int bucket = _From / bucketSize; bucket <= _To / bucketSize; bucket++) {
+            int first  = Math.max(bucket * bucketSize, _From);
+            int last   = Math.min((bucket + 1) * bucketSize - 1, Math.min(_To, mSize - 1));
+            int lower  = Math.min(minIndex[bucket], maxIndex[bucket]);
+            int higher = Math.max(minIndex[bucket], maxIndex[bucket]);
+
+            count = appendIndex(_Result, count, first);
+            if (lower > first && lower < last) {
+                count = appendIndex(_Result, count, lower);
+            }
+            if (higher > first && higher < last) {
+                count = appendIndex(_Result, count, higher);
+            }
+            count = appendIndex(_Result, count, last);
+        }
+
+        return count;
+    }
+
+    /**
+     * Calculates the minimum and maximum value of the points between the given indices. The levels
+     * are used like a segment tree: the range is covered by whole buckets of the coarsest possible
+     * levels, so only O(log n) values are visited.
+     * @param _Series The series from which the pyramid was built.
+     * @param _From   Index of the first point.
+     * @param _To     Index of the last point.
+     * @param _Result Array in which the minimum (index 0) and the maximum (index 1) are written.
+     */
+    public void queryRange(ValueLineSeries _Series, int _From, int _To, float[] _Result) {
+        int   from = Math.max(0, _From);
+        int   to   = Math.min(mSize - 1, _To);
+        float min  = Float.MAX_VALUE;
+        float max  = -Float.MAX_VALUE;
+
+        if (mLevelCount == 0) {
+            for (int i = from; i <= to; i++) {
+                min = Math.min(min, _Series.getValueAt(i));
+                max = Math.max(max, _Series.getValueAt(i));
+            }
+        } else {
+            // the points at the ends, which do not fill a whole bucket of level 0
+            if ((from & 1) == 1 && from <= to) {
+                min = Math.min(min, _Series.getValueAt(from));
+                max = Math.max(max, _Series.getValueAt(from));
+                from++;
+            }
+            if ((to & 1) == 0 && from <= to) {
+                min = Math.min(min, _Series.getValueAt(to));
+                max = Math.max(max, _Series.getValueAt(to));
+                to--;
+            }
+            from >>= 1;
+            to   >>= 1;
+
+            for (int level = 0; level < mLevelCount && from <= to; level++) {
+                float[] levelMin = mMin[level];
+                float[] levelMax = mMax[level];
+
+                if (level == mLevelCount - 1) {
+                    // the top level only has a few buckets left
+                    for (int bucket = from; bucket <= to; bucket++) {
+                        min = Math.min(min, levelMin[bucket]);
+                        max = Math.max(max, levelMax[bucket]);
+                    }
+                    break;
+                }
+
+                // buckets at the ends, whose parent bucket is not completely in the range
+                if ((from & 1) == 1) {
+                    min = Math.min(min, levelMin[from]);
+                    max = Math.max(max, levelMax[from]);
+                    from++;
+                }
+                if ((to & 1) == 0 && from <= to) {
+                    min = Math.min(min, levelMin[to]);
+                    max = Math.max(max, levelMax[to]);
+                    to--;
+                }
+                from >>= 1;
+                to   >>= 1;
+            }
+        }
+
+        _Result[0] = min;
+        _Result[1] = max;
+    }
+
+    private int appendIndex(int[] _Result, int _Count, int _Index) {
+        if (_Count == 0 || _Result[_Count - 1] != _Index) {
+            _Result[_Count++] = _Index;
+        }
+        return _Count;
+    }
+
+    private void ensureLevel(int _Level, int _BucketCount) {
+        if (_Level >= mMin.length) {
+            int newLength = Math.max(_Level + 1, mMin.length * 2);
+            float[][] min      = new float[newLength][];
+            float[][] max      = new float[newLength][];
+            int[][]   minIndex = new int[newLength][];
+            int[][]   maxIndex = new int[newLength][];
+            int[]     counts   = new int[newLength];
+
+            System.arraycopy(mMin,          0, min,      0, mMin.length);
+            System.arraycopy(mMax,          0, max,      0, mMax.length);
+            System.arraycopy(mMinIndex,     0, minIndex, 0, mMinIndex.length);
+            System.arraycopy(mMaxIndex,     0, maxIndex, 0, mMaxIndex.length);
+            System.arraycopy(mBucketCounts, 0, counts,   0, mBucketCounts.length);
+
+            mMin          = min;
+            mMax          = max;
+            mMinIndex     = minIndex;
+            mMaxIndex     = maxIndex;
+            mBucketCounts = counts;
+        }
+
+        if (mMin[_Level] == null || mMin[_Level].length < _BucketCount) {
+            mMin[_Level]      = new float[_BucketCount];
+            mMax[_Level]      = new float[_BucketCount];
+            mMinIndex[_Level] = new int[_BucketCount];
+            mMaxIndex[_Level] = new int[_BucketCount];
+        }
+    }
+
+    /**
+     * Levels with less buckets are not built, as they would never be chosen.
+     */
+    private static final int MIN_BUCKET_COUNT = 2;
+
+    private int         mSize;
+    private int         mLevelCount;
+    private int[]       mBucketCounts = new int[0];
+
+    private float[][]   mMin          = new float[0][];
+    private float[][]   mMax          = new float[0][];
+    private int[][]     mMinIndex     = new int[0][];
+    private int[][]     mMaxIndex     = new int[0][];
+}
@@ -0,0 +1,159 @@
+/**
+ *
+ *   Copyright (C) 2014 Paul Cech
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.eazegraph.lib.utils;
+
+import org.eazegraph.lib.communication.IBarDataAdapter;
+import org.eazegraph.lib.models.BarModel;
+
+import java.util.AbstractList;
+
+/**
+ * A list of the bars which are provided by an {@link IBarDataAdapter}. Only the bars of a window
+ * are bound, which the chart moves along with the visible part of the chart. Every position is
+ * mapped to a fixed slot of a ring of reused models, so moving the window only binds the positions
+ * which entered it and recycles the models of the positions which left it. A position outside of
+ * the window is bound on demand, when it is requested.
+ */
+public class PagedBarList extends AbstractList<BarModel> {
+
+    /**
+     * Sets the adapter and discards all bound bars.
+     * @param _Adapter The adapter or null.
+     */
+    public void setAdapter(IBarDataAdapter _Adapter) {
+        mAdapter = _Adapter;
+        refresh();
+    }
+
+    public IBarDataAdapter getAdapter() {
+        return mAdapter;
+    }
+
+    /**
+     * Reads the amount of bars from the adapter again and discards all bound bars. Should be called
+     * after the data of the adapter changed.
+     */
+    public void refresh() {
+        mSize = mAdapter == null ? 0 : mAdapter.getCount();
+        invalidate();
+    }
+
+    /**
+     * Discards all bound bars, so they are bound again when they are requested.
+     */
+    public void invalidate() {
+        for (int i = 0; i < mPositions.length; i++) {
+            mPositions[i] = -1;
+        }
+    }
+
+    /**
+     * Binds every bar of the given window, which is not bound yet. The ring grows, if it is smaller
+     * than the window.
+     * @param _From Position of the first bar of the window.
+     * @param _To   Position of the last bar of the window.
+     * @return The amount of bars which were bound.
+     */
+    public int bindWindow(int _From, int _To) {
+        int from = Math.max(0, _From);
+        int to   = Math.min(mSize - 1, _To);
+
+        if (to - from + 1 > mBars.length) {
+            grow(to - from + 1);
+        }
+
+        int bound = 0;
+        for (int i = from; i <= to; i++) {
+            if (mPositions[getSlot(i)] != i) {
+                bind(i);
+                bound++;
+            }
+        }
+        return bound;
+    }
+
+    /**
+     * Returns the slot of the ring, in which the bar at the given position is bound.
+     * @param _Position Position of the bar.
+     * @return Index of the slot.
+     */
+    public int getSlot(int _Position) {
+        return _Position % mBars.length;
+    }
+
+    @Override
+    public BarModel get(int _Position) {
+        if (_Position < 0 || _Position >= mSize) {
+            throw new IndexOutOfBoundsException("Position " + _Position + ", size " + mSize);
+        }
+
+        int slot = getSlot(_Position);
+        if (mPositions[slot] != _Position) {
+            bind(_Position);
+        }
+        return mBars[slot];
+    }
+
+    @Override
+    public int size() {
+        return mSize;
+    }
+
+    /**
+     * Called after a bar was bound, so its bounds can be calculated.
+     * @param _Position Position of the bar.
+     * @param _Bar      The bound model.
+     */
+    protected void onBarBound(int _Position, BarModel _Bar) {
+    }
+
+    private void bind(int _Position) {
+        int      slot = getSlot(_Position);
+        BarModel bar  = mBars[slot];
+
+        mAdapter.onBindBar(_Position, bar);
+        mPositions[slot] = _Position;
+        onBarBound(_Position, bar);
+    }
+
+    /**
+     * Grows the ring to the given capacity. As the slots of the positions change, all bars are
+     * discarded.
+     */
+    private void grow(int _Capacity) {
+        BarModel[] bars = new BarModel[_Capacity];
+        System.arraycopy(mBars, 0, bars, 0, mBars.length);
+
+        for (int i = mBars.length; i < _Capacity; i++) {
+            bars[i] = new BarModel(0.f);
+        }
+
+        mBars      = bars;
+        mPositions = new int[_Capacity];
+        invalidate();
+    }
+
+    private IBarDataAdapter mAdapter;
+    private int             mSize;
+
+    /**
+     * The ring of reused models and the position, which is bound to each of them, or -1.
+     */
+    private BarModel[]      mBars      = new BarModel[] { new BarModel(0.f) };
+    private int[]           mPositions = new int[] { -1 };
+}
@@ -0,0 +1,283 @@
+/**
+ *
+ *   Copyright (C) 2014 Paul Cech
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.eazegraph.lib.utils;
+
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.Typeface;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache for the width and the bounds of measured texts, which is shared by all charts.
+ * The measurements are keyed by the text and the metrics of the Paint which influence the result
+ * (text size, typeface, flags, text scale and skew). If the cache is full, the least recently used
+ * measurement is removed. Looking up a cached measurement does not allocate, neither for a String
+ * nor for a range of a char array.
+ *
+ * The amount of hits and misses is counted, so the efficiency of the cache can be checked.
+ */
+public class TextMeasureCache {
+
+    /**
+     * Creates a new cache.
+     * @param _MaxSize The maximum amount of measurements which are kept.
+     */
+    public TextMeasureCache(int _MaxSize) {
+        mMaxSize = _MaxSize;
+        mEntries = new LinkedHashMap<Key, Measurement>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Measurement> _Eldest) {
+                return size() > mMaxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the cache which is shared by all charts.
+     * @return The shared cache.
+     */
+    public static TextMeasureCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the width of the text, like {@link Paint#measureText(String)}.
+     * @param _Paint The Paint which is used to draw the text.
+     * @param _Text  The text.
+     * @return Width of the text in px.
+     */
+    public synchronized float measureText(Paint _Paint, String _Text) {
+        return getMeasurement(_Paint, _Text).mWidth;
+    }
+
+    /**
+     * Returns the bounds of the text, like {@link Paint#getTextBounds(String, int, int, Rect)}.
+     * @param _Paint  The Paint which is used to draw the text.
+     * @param _Text   The text.
+     * @param _Result The Rect in which the bounds are stored.
+     */
+    public synchronized void getTextBounds(Paint _Paint, String _Text, Rect _Result) {
+        _Result.set(getMeasurement(_Paint, _Text).mBounds);
+    }
+
+    /**
+     * Returns the bounds of the text, like {@link Paint#getTextBounds(char[], int, int, Rect)}. The
+     * characters are only copied into a String, if the text was not measured before.
+     * @param _Paint  The Paint which is used to draw the text.
+     * @param _Text   The array which holds the text.
+     * @param _Start  Index of the first character of the text.
+     * @param _Length Amount of characters of the text.
+     * @param _Result The Rect in which the bounds are stored.
+     */
+    public synchronized void getTextBounds(Paint _Paint, char[] _Text, int _Start, int _Length, Rect _Result) {
+        mProbe.set(_Paint, _Text, _Start, _Length);
+
+        Measurement measurement = mEntries.get(mProbe);
+        if (measurement == null) {
+            measurement = getMeasurement(_Paint, new String(_Text, _Start, _Length));
+        } else {
+            mHitCount++;
+        }
+        _Result.set(measurement.mBounds);
+    }
+
+    /**
+     * Returns the height of the bounds of the text.
+     * @param _Paint The Paint which is used to draw the text.
+     * @param _Text  The text.
+     * @return Height of the text in px.
+     */
+    public synchronized int getTextHeight(Paint _Paint, String _Text) {
+        return getMeasurement(_Paint, _Text).mBounds.height();
+    }
+
+    /**
+     * Removes all measurements. The counters are not reset.
+     */
+    public synchronized void clear() {
+        mEntries.clear();
+    }
+
+    /**
+     * Resets the hit and miss counters.
+     */
+    public synchronized void resetCounters() {
+        mHitCount  = 0;
+        mMissCount = 0;
+    }
+
+    /**
+     * Returns how often a measurement was found in the cache.
+     * @return Amount of hits.
+     */
+    public synchronized long getHitCount() {
+        return mHitCount;
+    }
+
+    /**
+     * Returns how often a text had to be measured.
+     * @return Amount of misses.
+     */
+    public synchronized long getMissCount() {
+        return mMissCount;
+    }
+
+    /**
+     * Returns the amount of measurements which are currently cached.
+     * @return Amount of measurements.
+     */
+    public synchronized int getSize() {
+        return mEntries.size();
+    }
+
+    /**
+     * Returns the maximum amount of measurements which are kept.
+     * @return Maximum amount of measurements.
+     */
+    public int getMaxSize() {
+        return mMaxSize;
+    }
+
+    private Measurement getMeasurement(Paint _Paint, String _Text) {
+        mProbe.set(_Paint, _Text, null, 0, _Text.length());
+
+        Measurement measurement = mEntries.get(mProbe);
+        if (measurement != null) {
+            mHitCount++;
+            return measurement;
+        }
+
+        mMissCount++;
+
+        measurement = new Measurement();
+        measurement.mWidth = _Paint.measureText(_Text);
+        _Paint.getTextBounds(_Text, 0, _Text.length(), measurement.mBounds);
+
+        Key key = new Key();
+        key.set(_Paint, _Text, null, 0, _Text.length());
+        mEntries.put(key, measurement);
+
+        return measurement;
+    }
+
+    /**
+     * The text and the Paint metrics, which identify a measurement. The lookups reuse a single
+     * instance, so only a miss creates a new key. The text is either a String or a range of a char
+     * array, the keys in the cache always hold a String.
+     */
+    private static final class Key {
+
+        void set(Paint _Paint, char[] _Chars, int _Start, int _Length) {
+            set(_Paint, null, _Chars, _Start, _Length);
+        }
+
+        void set(Paint _Paint, String _Text, char[] _Chars, int _Start, int _Length) {
+            mText       = _Text;
+            mChars      = _Chars;
+            mStart      = _Start;
+            mLength     = _Length;
+            mTextSize   = _Paint.getTextSize();
+            mTypeface   = _Paint.getTypeface();
+            mFlags      = _Paint.getFlags();
+            mTextScaleX = _Paint.getTextScaleX();
+            mTextSkewX  = _Paint.getTextSkewX();
+
+            // the same hash as String.hashCode(), so both representations of a text are equal
+            int hash = 0;
+            for (int i = 0; i < mLength; i++) {
+                hash = 31 * hash + charAt(i);
+            }
+            hash = 31 * hash + Float.floatToIntBits(mTextSize);
+            hash = 31 * hash + System.identityHashCode(mTypeface);
+            hash = 31 * hash + mFlags;
+            hash = 31 * hash + Float.floatToIntBits(mTextScaleX);
+            hash = 31 * hash + Float.floatToIntBits(mTextSkewX);
+            mHash = hash;
+        }
+
+        @Override
+        public boolean equals(Object _Other) {
+            if (!(_Other instanceof Key)) {
+                return false;
+            }
+
+            Key other = (Key) _Other;
+            return mHash == other.mHash
+                    && mTextSize == other.mTextSize
+                    && mTypeface == other.mTypeface
+                    && mFlags == other.mFlags
+                    && mTextScaleX == other.mTextScaleX
+                    && mTextSkewX == other.mTextSkewX
+                    && textEquals(other);
+        }
+
+        private boolean textEquals(Key _Other) {
+            if (mLength != _Other.mLength) {
+                return false;
+            }
+
+            for (int i = 0; i < mLength; i++) {
+                if (charAt(i) != _Other.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private char charAt(int _Index) {
+            return mText != null ? mText.charAt(_Index) : mChars[mStart + _Index];
+        }
+
+        @Override
+        public int hashCode() {
+            return mHash;
+        }
+
+        private String      mText;
+        private char[]      mChars;
+        private int         mStart;
+        private int         mLength;
+        private float       mTextSize;
+        private Typeface    mTypeface;
+        private int         mFlags;
+        private float       mTextScaleX;
+        private float       mTextSkewX;
+        private int         mHash;
+    }
+
+    private static final class Measurement {
+        private float       mWidth;
+        private final Rect  mBounds = new Rect();
+    }
+
+    /**
+     * The default maximum amount of measurements in the shared cache.
+     */
+    public static final int DEF_MAX_SIZE = 512;
+
+    private static final TextMeasureCache INSTANCE = new TextMeasureCache(DEF_MAX_SIZE);
+
+    private final int                               mMaxSize;
+    private final LinkedHashMap<Key, Measurement>   mEntries;
+    private final Key                               mProbe = new Key();
+
+    private long                                    mHitCount;
+    private long                                    mMissCount;
+}
@@ -103,11 +103,15 @@ public class Utils {
         // if not the label will not be shown
         for (BaseModel model : _Models) {
             if (!model.isIgnore()) {
-                Rect textBounds = new Rect();
+                Rect textBounds = model.getTextBounds();
                 RectF legendBounds = model.getLegendBounds();
 
-                _Paint.getTextBounds(model.getLegendLabel(), 0, model.getLegendLabel().length(), textBounds);
-                model.setTextBounds(textBounds);
+                // the text bounds of the model are reused
+                if (textBounds == null) {
+                    textBounds = new Rect();
+                    model.setTextBounds(textBounds);
+                }
+                TextMeasureCache.getInstance().getTextBounds(_Paint, model.getLegendLabel(), textBounds);
 
                 float centerX = legendBounds.centerX();
                 float centeredTextPos = centerX - (textBounds.width() / 2);
@@ -163,10 +167,8 @@ public class Utils {
      * @return Maximum text height in px.
      */
     public static float calculateMaxTextHeight(Paint _Paint, String _Text) {
-        Rect height = new Rect();
         String text = _Text == null ? "MgHITasger" : _Text;
-        _Paint.getTextBounds(text, 0, text.length(), height);
-        return height.height();
+        return TextMeasureCache.getInstance().getTextHeight(_Paint, text);
     }
 
     /**
@@ -0,0 +1,155 @@
+/**
+ *
+ *   Copyright (C) 2014 Paul Cech
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.eazegraph.lib.utils;
+
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+/**
+ * Formats values for the labels of the charts into a char array, so the labels can be drawn with
+ * {@link android.graphics.Canvas#drawText(char[], int, int, float, float, android.graphics.Paint)}
+ * without creating a String. The decimal separator and the minus sign are taken from the locale.
+ *
+ * Values with decimal places are rounded to {@value #MAX_FRACTION_DIGITS} decimal places, trailing
+ * zeros are removed, but at least one decimal place is written. Without decimal places the value is
+ * truncated, like {@link Utils#getFloatString(float, boolean)} does.
+ */
+public class ValueFormatter {
+
+    public ValueFormatter() {
+        this(Locale.getDefault());
+    }
+
+    /**
+     * Creates a formatter which uses the symbols of the given locale.
+     * @param _Locale The locale.
+     */
+    public ValueFormatter(Locale _Locale) {
+        DecimalFormatSymbols symbols = new DecimalFormatSymbols(_Locale);
+        mDecimalSeparator = symbols.getDecimalSeparator();
+        mMinusSign        = symbols.getMinusSign();
+    }
+
+    /**
+     * Returns the minimum length of a char array, which can hold every value with the given unit.
+     * @param _Unit The unit or null.
+     * @return Length in chars.
+     */
+    public static int getMaxLength(String _Unit) {
+        return MAX_NUMBER_LENGTH + (_Unit == null ? 0 : _Unit.length());
+    }
+
+    /**
+     * Writes the value and the unit to the beginning of the given array.
+     * @param _Value       The value which should be formatted.
+     * @param _ShowDecimal Indicates whether the decimal places should be shown or not.
+     * @param _Unit        The unit which is appended without a separator, or null.
+     * @param _Result      The array which receives the chars. Must hold at least
+     *                     {@link #getMaxLength(String)} chars.
+     * @return The amount of written chars.
+     */
+    public int format(float _Value, boolean _ShowDecimal, String _Unit, char[] _Result) {
+        int length;
+
+        if (Float.isNaN(_Value) || Float.isInfinite(_Value)) {
+            length = append(String.valueOf(_Value), _Result, 0);
+        } else if (!_ShowDecimal) {
+            length = appendInteger((int) _Value, _Result, 0);
+        } else if (Math.abs(_Value) >= MAX_DECIMAL_VALUE) {
+            // too large for the fixed point conversion, happens rarely enough to allocate
+            length = append(String.valueOf(_Value), _Result, 0);
+        } else {
+            length = appendDecimal(_Value, _Result);
+        }
+
+        if (_Unit != null) {
+            length = append(_Unit, _Result, length);
+        }
+        return length;
+    }
+
+    private int appendDecimal(float _Value, char[] _Result) {
+        long scaled   = Math.round(Math.abs((double) _Value) * FRACTION_SCALE);
+        long fraction = scaled % FRACTION_SCALE;
+        int  digits   = MAX_FRACTION_DIGITS;
+        int  length   = 0;
+
+        if (_Value < 0 && scaled != 0) {
+            _Result[length++] = mMinusSign;
+        }
+
+        length = appendDigits(scaled / FRACTION_SCALE, _Result, length);
+        _Result[length++] = mDecimalSeparator;
+
+        while (digits > 1 && fraction % 10 == 0) {
+            fraction /= 10;
+            digits--;
+        }
+
+        for (int i = digits - 1; i >= 0; i--) {
+            _Result[length + i] = (char) ('0' + fraction % 10);
+            fraction /= 10;
+        }
+        return length + digits;
+    }
+
+    private int appendInteger(long _Value, char[] _Result, int _Offset) {
+        if (_Value < 0) {
+            _Result[_Offset++] = mMinusSign;
+            _Value = -_Value;
+        }
+        return appendDigits(_Value, _Result, _Offset);
+    }
+
+    private static int appendDigits(long _Value, char[] _Result, int _Offset) {
+        int  digits = 1;
+        long rest   = _Value / 10;
+
+        while (rest > 0) {
+            rest /= 10;
+            digits++;
+        }
+
+        for (int i = _Offset + digits - 1; i >= _Offset; i--) {
+            _Result[i] = (char) ('0' + _Value % 10);
+            _Value /= 10;
+        }
+        return _Offset + digits;
+    }
+
+    private static int append(String _Text, char[] _Result, int _Offset) {
+        _Text.getChars(0, _Text.length(), _Result, _Offset);
+        return _Offset + _Text.length();
+    }
+
+    /**
+     * The maximum amount of decimal places.
+     */
+    public static final int     MAX_FRACTION_DIGITS = 3;
+
+    private static final long   FRACTION_SCALE      = 1000;
+    private static final float  MAX_DECIMAL_VALUE   = 1e15f;
+
+    /**
+     * The maximum length of a formatted value without its unit.
+     */
+    private static final int    MAX_NUMBER_LENGTH   = 24;
+
+    private final char          mDecimalSeparator;
+    private final char          mMinusSign;
+}
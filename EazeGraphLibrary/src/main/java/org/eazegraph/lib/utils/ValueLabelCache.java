@@ -0,0 +1,161 @@
+/**
+ *
+ *   Copyright (C) 2014 Paul Cech
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.eazegraph.lib.utils;
+
+import android.graphics.Paint;
+
+/**
+ * Caches the formatted labels of the values of a chart by their index. A label is only formatted
+ * again if the value at its index or the format changed, so drawing unchanged values does not
+ * allocate or format anything. The char arrays of the labels are reused.
+ */
+public class ValueLabelCache {
+
+    public ValueLabelCache() {
+        this(new ValueFormatter());
+    }
+
+    /**
+     * Creates a cache which formats its labels with the given formatter.
+     * @param _Formatter The formatter.
+     */
+    public ValueLabelCache(ValueFormatter _Formatter) {
+        mFormatter = _Formatter;
+    }
+
+    /**
+     * Sets the format of the labels. All labels are formatted again, if the format changed.
+     * @param _ShowDecimal Indicates whether the decimal places should be shown or not.
+     * @param _Unit        The unit which is appended to the value, or null.
+     */
+    public void setFormat(boolean _ShowDecimal, String _Unit) {
+        boolean sameUnit = _Unit == null ? mUnit == null : _Unit.equals(mUnit);
+
+        if (_ShowDecimal != mShowDecimal || !sameUnit) {
+            mShowDecimal = _ShowDecimal;
+            mUnit        = _Unit;
+            clear();
+        }
+    }
+
+    /**
+     * Marks all labels as outdated.
+     */
+    public void clear() {
+        mGeneration++;
+    }
+
+    /**
+     * Returns the length of the label for the value at the given index and formats it, if the
+     * value changed since it was formatted the last time.
+     * @param _Index Index of the value.
+     * @param _Value The value.
+     * @return Length of the label, which is returned by {@link #getChars(int)}.
+     */
+    public int getLabel(int _Index, float _Value) {
+        ensureCapacity(_Index + 1);
+
+        if (mGenerations[_Index] != mGeneration
+                || Float.floatToIntBits(mValues[_Index]) != Float.floatToIntBits(_Value)) {
+            int maxLength = ValueFormatter.getMaxLength(mUnit);
+            if (mLabels[_Index] == null || mLabels[_Index].length < maxLength) {
+                mLabels[_Index] = new char[maxLength];
+            }
+
+            mLengths[_Index]     = mFormatter.format(_Value, mShowDecimal, mUnit, mLabels[_Index]);
+            mValues[_Index]      = _Value;
+            mGenerations[_Index] = mGeneration;
+            mWidthSizes[_Index]  = -1;
+        }
+        return mLengths[_Index];
+    }
+
+    /**
+     * Returns the chars of the label at the given index. The label has to be requested with
+     * {@link #getLabel(int, float)} before.
+     * @param _Index Index of the value.
+     * @return The chars of the label.
+     */
+    public char[] getChars(int _Index) {
+        return mLabels[_Index];
+    }
+
+    /**
+     * Returns the width of the label at the given index. The width is measured again, if the label
+     * or the text size of the Paint changed. The label has to be requested with
+     * {@link #getLabel(int, float)} before.
+     * @param _Index Index of the value.
+     * @param _Paint The Paint which is used to draw the label.
+     * @return Width of the label in px.
+     */
+    public float getWidth(int _Index, Paint _Paint) {
+        if (mWidthSizes[_Index] != _Paint.getTextSize()) {
+            mWidths[_Index]     = _Paint.measureText(mLabels[_Index], 0, mLengths[_Index]);
+            mWidthSizes[_Index] = _Paint.getTextSize();
+        }
+        return mWidths[_Index];
+    }
+
+    private void ensureCapacity(int _Capacity) {
+        if (mLengths.length >= _Capacity) {
+            return;
+        }
+
+        int capacity = Math.max(_Capacity, mLengths.length * 2);
+
+        char[][] labels = new char[capacity][];
+        System.arraycopy(mLabels, 0, labels, 0, mLabels.length);
+        mLabels = labels;
+
+        mLengths     = copyOf(mLengths, capacity);
+        mGenerations = copyOf(mGenerations, capacity);
+        mValues      = copyOf(mValues, capacity);
+        mWidths      = copyOf(mWidths, capacity);
+        mWidthSizes  = copyOf(mWidthSizes, capacity);
+    }
+
+    private static int[] copyOf(int[] _Array, int _Length) {
+        int[] result = new int[_Length];
+        System.arraycopy(_Array, 0, result, 0, _Array.length);
+        return result;
+    }
+
+    private static float[] copyOf(float[] _Array, int _Length) {
+        float[] result = new float[_Length];
+        System.arraycopy(_Array, 0, result, 0, _Array.length);
+        return result;
+    }
+
+    private final ValueFormatter mFormatter;
+
+    private boolean     mShowDecimal;
+    private String      mUnit;
+
+    /**
+     * Labels whose generation differs from the current one are outdated. The generation starts at
+     * 1, so new slots are outdated.
+     */
+    private int         mGeneration     = 1;
+
+    private char[][]    mLabels         = new char[0][];
+    private int[]       mLengths        = new int[0];
+    private int[]       mGenerations    = new int[0];
+    private float[]     mValues         = new float[0];
+    private float[]     mWidths         = new float[0];
+    private float[]     mWidthSizes     = new float[0];
+}
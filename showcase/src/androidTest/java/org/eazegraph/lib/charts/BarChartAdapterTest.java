@@ -0,0 +1,63 @@
+package org.eazegraph.lib.charts;
+
+import android.test.AndroidTestCase;
+
+import org.eazegraph.lib.communication.IBarDataAdapter;
+import org.eazegraph.lib.models.BarModel;
+
+/**
+ * Tests that a {@link BarChart} with an {@link IBarDataAdapter} only binds the bars around the
+ * visible part of the chart, even if the adapter is set before the chart is laid out.
+ */
+public class BarChartAdapterTest extends AndroidTestCase {
+
+    private static final int BAR_COUNT = 10000;
+
+    public void testAdapterBeforeLayoutBindsNothing() {
+        BarChart        chart   = createChart();
+        CountingAdapter adapter = new CountingAdapter();
+
+        chart.setAdapter(adapter);
+
+        assertEquals(0, adapter.mBinds);
+    }
+
+    public void testLayoutBindsVisibleBars() {
+        BarChart        chart   = createChart();
+        CountingAdapter adapter = new CountingAdapter();
+
+        chart.setAdapter(adapter);
+        chart.layout(0, 0, 480, 320);
+
+        assertTrue(adapter.mBinds > 0);
+        assertTrue(adapter.mBinds < BAR_COUNT);
+    }
+
+    private BarChart createChart() {
+        BarChart chart = new BarChart(getContext());
+        chart.setFixedBarWidth(true);
+        chart.setScrollEnabled(true);
+        return chart;
+    }
+
+    private static class CountingAdapter implements IBarDataAdapter {
+
+        @Override
+        public int getCount() {
+            return BAR_COUNT;
+        }
+
+        @Override
+        public float getMaxValue() {
+            return BAR_COUNT;
+        }
+
+        @Override
+        public void onBindBar(int _Position, BarModel _Bar) {
+            mBinds++;
+            _Bar.setValue(_Position);
+        }
+
+        int mBinds;
+    }
+}
@@ -0,0 +1,124 @@
+package org.eazegraph.lib.charts;
+
+import android.content.Context;
+import android.test.AndroidTestCase;
+
+import org.eazegraph.lib.models.BarModel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests that adding a batch of bars to a {@link BarChart} or {@link VerticalBarChart} recalculates
+ * the chart only once.
+ */
+public class BarChartUpdateTest extends AndroidTestCase {
+
+    private static final int BAR_COUNT = 10;
+
+    public void testAddBarsRecalculatesOnce() {
+        CountingBarChart chart = new CountingBarChart(getContext());
+        chart.layout(0, 0, 480, 320);
+        chart.mRecalculations = 0;
+
+        chart.addBars(createBars());
+
+        assertEquals(1, chart.mRecalculations);
+        assertEquals(BAR_COUNT, chart.getData().size());
+    }
+
+    public void testVerticalAddBarsRecalculatesOnce() {
+        CountingVerticalBarChart chart = new CountingVerticalBarChart(getContext());
+        chart.layout(0, 0, 480, 320);
+        chart.mRecalculations = 0;
+
+        chart.addBars(createBars());
+
+        assertEquals(1, chart.mRecalculations);
+        assertEquals(BAR_COUNT, chart.getData().size());
+    }
+
+    public void testBatchedAddBarRecalculatesOnce() {
+        CountingBarChart chart = new CountingBarChart(getContext());
+        chart.layout(0, 0, 480, 320);
+        chart.mRecalculations = 0;
+
+        chart.beginUpdate();
+        for (BarModel bar : createBars()) {
+            chart.addBar(bar);
+        }
+        assertEquals(0, chart.mRecalculations);
+
+        chart.endUpdate();
+        assertEquals(1, chart.mRecalculations);
+        assertEquals(BAR_COUNT, chart.getData().size());
+    }
+
+    public void testVerticalBatchedAddBarRecalculatesOnce() {
+        CountingVerticalBarChart chart = new CountingVerticalBarChart(getContext());
+        chart.layout(0, 0, 480, 320);
+        chart.mRecalculations = 0;
+
+        chart.beginUpdate();
+        for (BarModel bar : createBars()) {
+            chart.addBar(bar);
+        }
+        assertEquals(0, chart.mRecalculations);
+
+        chart.endUpdate();
+        assertEquals(1, chart.mRecalculations);
+    }
+
+    public void testUnbalancedEndIsRejected() {
+        CountingBarChart chart = new CountingBarChart(getContext());
+
+        try {
+            chart.endUpdate();
+            fail("endUpdate() without beginUpdate() has to be rejected");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    private static List<BarModel> createBars() {
+        List<BarModel> bars = new ArrayList<BarModel>();
+        for (int i = 0; i < BAR_COUNT; i++) {
+            bars.add(new BarModel(i + 1.f, 0xFF56B7F1));
+        }
+        return bars;
+    }
+
+    private static class CountingBarChart extends BarChart {
+
+        CountingBarChart(Context _Context) {
+            super(_Context);
+        }
+
+        @Override
+        protected void onDataChanged() {
+            if (!isUpdating()) {
+                mRecalculations++;
+            }
+            super.onDataChanged();
+        }
+
+        int mRecalculations;
+    }
+
+    private static class CountingVerticalBarChart extends VerticalBarChart {
+
+        CountingVerticalBarChart(Context _Context) {
+            super(_Context);
+        }
+
+        @Override
+        protected void onDataChanged() {
+            if (!isUpdating()) {
+                mRecalculations++;
+            }
+            super.onDataChanged();
+        }
+
+        int mRecalculations;
+    }
+}
@@ -0,0 +1,95 @@
+package org.eazegraph.lib.charts;
+
+import android.test.AndroidTestCase;
+
+import org.eazegraph.lib.models.ValueLinePoint;
+import org.eazegraph.lib.models.ValueLineSeries;
+
+/**
+ * Tests that a batch of data changes, which is started with {@link BaseChart#beginUpdate()},
+ * recalculates the chart only once.
+ */
+public class BaseChartUpdateTest extends AndroidTestCase {
+
+    public void testBatchRecalculatesOnce() {
+        CountingValueLineChart chart = createChart();
+
+        chart.beginUpdate();
+        for (int i = 0; i < 10; i++) {
+            chart.addSeries(createSeries());
+        }
+        assertEquals(0, chart.mRecalculations);
+
+        chart.endUpdate();
+        assertEquals(1, chart.mRecalculations);
+        assertFalse(chart.isUpdating());
+    }
+
+    public void testNestedBatchesFlushAtOutermostEnd() {
+        CountingValueLineChart chart  = createChart();
+        ValueLineSeries        series = createSeries();
+
+        chart.beginUpdate();
+        chart.addSeries(series);
+
+        chart.beginUpdate();
+        chart.appendPoint(series, new ValueLinePoint(4.f));
+        chart.appendPoint(series, new ValueLinePoint(5.f));
+        chart.endUpdate();
+
+        assertTrue(chart.isUpdating());
+        assertEquals(0, chart.mRecalculations);
+
+        chart.appendPoint(series, new ValueLinePoint(6.f));
+        chart.endUpdate();
+
+        assertFalse(chart.isUpdating());
+        assertEquals(1, chart.mRecalculations);
+    }
+
+    public void testBatchWithoutChangesDoesNotRecalculate() {
+        CountingValueLineChart chart = createChart();
+
+        chart.beginUpdate();
+        chart.endUpdate();
+
+        assertEquals(0, chart.mRecalculations);
+    }
+
+    public void testChangesAfterBatchRecalculateImmediately() {
+        CountingValueLineChart chart = createChart();
+
+        chart.beginUpdate();
+        chart.addSeries(createSeries());
+        chart.endUpdate();
+        chart.addSeries(createSeries());
+
+        assertEquals(2, chart.mRecalculations);
+    }
+
+    public void testUnbalancedEndIsRejected() {
+        CountingValueLineChart chart = createChart();
+
+        try {
+            chart.endUpdate();
+            fail("endUpdate() without beginUpdate() has to be rejected");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    private CountingValueLineChart createChart() {
+        CountingValueLineChart chart = new CountingValueLineChart(getContext());
+        chart.layout(0, 0, 480, 320);
+        chart.mRecalculations = 0;
+        return chart;
+    }
+
+    private static ValueLineSeries createSeries() {
+        ValueLineSeries series = new ValueLineSeries();
+        series.addPoint(new ValueLinePoint(1.f));
+        series.addPoint(new ValueLinePoint(3.f));
+        series.addPoint(new ValueLinePoint(2.f));
+        return series;
+    }
+}
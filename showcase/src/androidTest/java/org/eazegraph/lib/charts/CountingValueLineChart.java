@@ -0,0 +1,23 @@
+package org.eazegraph.lib.charts;
+
+import android.content.Context;
+
+/**
+ * A {@link ValueLineChart} which counts its recalculations, which are not deferred by a batch.
+ */
+class CountingValueLineChart extends ValueLineChart {
+
+    CountingValueLineChart(Context _Context) {
+        super(_Context);
+    }
+
+    @Override
+    protected void onDataChanged() {
+        if (!isUpdating()) {
+            mRecalculations++;
+        }
+        super.onDataChanged();
+    }
+
+    int mRecalculations;
+}
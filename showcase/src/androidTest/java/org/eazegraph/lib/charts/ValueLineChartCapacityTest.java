@@ -0,0 +1,130 @@
+package org.eazegraph.lib.charts;
+
+import android.graphics.Path;
+import android.graphics.RectF;
+import android.test.AndroidTestCase;
+
+import org.eazegraph.lib.models.Point2D;
+import org.eazegraph.lib.models.ValueLinePoint;
+import org.eazegraph.lib.models.ValueLineSeries;
+
+/**
+ * Tests the x-layout of a {@link ValueLineSeries}, which reserves space for more points than it holds,
+ * and the appending of points into the reserved space.
+ */
+public class ValueLineChartCapacityTest extends AndroidTestCase {
+
+    private static final float[] VALUES   = { 3.f, 1.f, 4.f, 1.f, 5.f, 9.f, 2.f, 6.f, 5.f, 3.f };
+    private static final int     CAPACITY = VALUES.length;
+
+    public void testReservedSpaceMatchesFullSeries() {
+        ValueLineSeries full     = createSeries(CAPACITY);
+        ValueLineSeries reserved = createSeries(4);
+        reserved.setCapacity(CAPACITY);
+
+        createChart(full);
+        createChart(reserved);
+
+        assertEquals(full.getWidthOffset(), reserved.getWidthOffset(), 0.001f);
+        for (int i = 0; i < reserved.getPointCount(); i++) {
+            assertEquals("x of point " + i, full.getXAt(i), reserved.getXAt(i), 0.001f);
+        }
+    }
+
+    public void testAppendedPointsKeepTheLayout() {
+        ValueLineSeries full     = createSeries(CAPACITY);
+        ValueLineSeries reserved = createSeries(4);
+        reserved.setCapacity(CAPACITY);
+
+        createChart(full);
+        ValueLineChart chart = createChart(reserved);
+
+        float[] xs = new float[4];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = reserved.getXAt(i);
+        }
+
+        chart.appendPoint(reserved, new ValueLinePoint(VALUES[4]));
+        chart.appendPoint(reserved, new ValueLinePoint(VALUES[5]));
+
+        assertEquals(6, reserved.getPointCount());
+        for (int i = 0; i < xs.length; i++) {
+            assertEquals("x of point " + i, xs[i], reserved.getXAt(i), 0.001f);
+        }
+        for (int i = 0; i < reserved.getPointCount(); i++) {
+            assertEquals("x of point " + i, full.getXAt(i), reserved.getXAt(i), 0.001f);
+        }
+    }
+
+    public void testAppendWithinCapacityExtendsThePath() {
+        ValueLineSeries series = createSeries(4);
+        series.setCapacity(CAPACITY);
+
+        CountingValueLineChart chart       = createChart(series);
+        Path                   path        = series.getPath();
+        Point2D[]              coordinates = new Point2D[4];
+        RectF                  before      = new RectF();
+        RectF                  after       = new RectF();
+
+        for (int i = 0; i < coordinates.length; i++) {
+            coordinates[i] = series.getSeries().get(i).getCoordinates();
+        }
+        path.computeBounds(before, true);
+        chart.mRecalculations = 0;
+
+        // the values lie in the current value range, so the graph is not scaled again
+        chart.appendPoint(series, new ValueLinePoint(2.f));
+        chart.appendPoint(series, new ValueLinePoint(3.f));
+
+        assertEquals(0, chart.mRecalculations);
+        assertSame(path, series.getPath());
+        for (int i = 0; i < coordinates.length; i++) {
+            assertSame("coordinates of point " + i, coordinates[i], series.getSeries().get(i).getCoordinates());
+        }
+        assertTrue(series.hasCoordinatesAt(5));
+
+        path.computeBounds(after, true);
+        assertEquals(before.left, after.left, 0.001f);
+        assertEquals(series.getXAt(5), after.right, 0.001f);
+    }
+
+    public void testAppendOutsideValueRangeRecalculates() {
+        ValueLineSeries series = createSeries(4);
+        series.setCapacity(CAPACITY);
+
+        CountingValueLineChart chart = createChart(series);
+        chart.mRecalculations = 0;
+
+        chart.appendPoint(series, new ValueLinePoint(100.f));
+
+        assertEquals(1, chart.mRecalculations);
+    }
+
+    public void testCapacityBelowPointCountIsIgnored() {
+        ValueLineSeries full    = createSeries(CAPACITY);
+        ValueLineSeries limited = createSeries(CAPACITY);
+        limited.setCapacity(4);
+
+        createChart(full);
+        createChart(limited);
+
+        for (int i = 0; i < CAPACITY; i++) {
+            assertEquals("x of point " + i, full.getXAt(i), limited.getXAt(i), 0.001f);
+        }
+    }
+
+    private CountingValueLineChart createChart(ValueLineSeries _Series) {
+        CountingValueLineChart chart = new CountingValueLineChart(getContext());
+        chart.layout(0, 0, 480, 320);
+        chart.addSeries(_Series);
+        return chart;
+    }
+
+    private static ValueLineSeries createSeries(int _Count) {
+        ValueLineSeries series = new ValueLineSeries();
+        for (int i = 0; i < _Count; i++) {
+            series.addPoint(new ValueLinePoint(VALUES[i]));
+        }
+        return series;
+    }
+}
@@ -0,0 +1,72 @@
+package org.eazegraph.lib.charts;
+
+import android.graphics.RectF;
+import android.test.AndroidTestCase;
+
+import org.eazegraph.lib.models.ValueLinePoint;
+import org.eazegraph.lib.models.ValueLineSeries;
+
+import java.util.Random;
+
+/**
+ * Tests that the parallel calculation of a {@link ValueLineChart} produces the same geometry as the
+ * sequential one.
+ */
+public class ValueLineChartParallelTest extends AndroidTestCase {
+
+    private static final int SERIES_COUNT = 3;
+    private static final int POINT_COUNT  = ValueLineChart.PARALLEL_POINT_THRESHOLD / 2;
+
+    public void testParallelMatchesSequential() {
+        ValueLineSeries[] sequential = createSeries();
+        ValueLineSeries[] parallel   = createSeries();
+
+        createChart(sequential, false);
+        createChart(parallel, true);
+
+        RectF sequentialBounds = new RectF();
+        RectF parallelBounds   = new RectF();
+
+        for (int i = 0; i < SERIES_COUNT; i++) {
+            assertEquals("width offset of series " + i, sequential[i].getWidthOffset(), parallel[i].getWidthOffset(), 0.001f);
+
+            for (int j = 0; j < POINT_COUNT; j++) {
+                assertEquals("x of point " + j, sequential[i].getXAt(j), parallel[i].getXAt(j), 0.001f);
+                assertEquals("y of point " + j, sequential[i].getYAt(j), parallel[i].getYAt(j), 0.001f);
+            }
+
+            sequential[i].getPath().computeBounds(sequentialBounds, true);
+            parallel[i].getPath().computeBounds(parallelBounds, true);
+            assertEquals("left of series " + i, sequentialBounds.left, parallelBounds.left, 0.001f);
+            assertEquals("top of series " + i, sequentialBounds.top, parallelBounds.top, 0.001f);
+            assertEquals("right of series " + i, sequentialBounds.right, parallelBounds.right, 0.001f);
+            assertEquals("bottom of series " + i, sequentialBounds.bottom, parallelBounds.bottom, 0.001f);
+        }
+    }
+
+    private void createChart(ValueLineSeries[] _Series, boolean _Parallel) {
+        ValueLineChart chart = new ValueLineChart(getContext());
+        chart.setUseParallelCalculation(_Parallel);
+        chart.layout(0, 0, 480, 320);
+
+        chart.beginUpdate();
+        for (ValueLineSeries series : _Series) {
+            chart.addSeries(series);
+        }
+        chart.endUpdate();
+    }
+
+    private static ValueLineSeries[] createSeries() {
+        // the same seed for both charts
+        Random            random = new Random(7);
+        ValueLineSeries[] series = new ValueLineSeries[SERIES_COUNT];
+
+        for (int i = 0; i < SERIES_COUNT; i++) {
+            series[i] = new ValueLineSeries();
+            for (int j = 0; j < POINT_COUNT; j++) {
+                series[i].addPoint(new ValueLinePoint(random.nextFloat() * 100.f - 20.f));
+            }
+        }
+        return series;
+    }
+}
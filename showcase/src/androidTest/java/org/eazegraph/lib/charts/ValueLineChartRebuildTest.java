@@ -0,0 +1,65 @@
+package org.eazegraph.lib.charts;
+
+import android.graphics.Path;
+import android.test.AndroidTestCase;
+
+import org.eazegraph.lib.models.Point2D;
+import org.eazegraph.lib.models.ValueLinePoint;
+import org.eazegraph.lib.models.ValueLineSeries;
+
+/**
+ * Tests that recalculating the geometry of a {@link ValueLineChart} reuses the Paths and coordinate
+ * objects of the previous calculation instead of allocating new ones.
+ */
+public class ValueLineChartRebuildTest extends AndroidTestCase {
+
+    private static final int REBUILDS = 5;
+
+    public void testRebuildReusesPathsAndCoordinates() {
+        assertRebuildReusesObjects(false, 50);
+    }
+
+    public void testParallelRebuildReusesPathsAndCoordinates() {
+        assertRebuildReusesObjects(true, ValueLineChart.PARALLEL_POINT_THRESHOLD / 2);
+    }
+
+    private void assertRebuildReusesObjects(boolean _Parallel, int _PointCount) {
+        ValueLineChart    chart  = new ValueLineChart(getContext());
+        ValueLineSeries[] series = { createSeries(_PointCount, 1.f), createSeries(_PointCount, 2.f) };
+
+        chart.setUseParallelCalculation(_Parallel);
+        chart.layout(0, 0, 480, 320);
+        for (ValueLineSeries s : series) {
+            chart.addSeries(s);
+        }
+
+        Path[]      paths       = new Path[series.length];
+        Point2D[][] coordinates = new Point2D[series.length][_PointCount];
+        for (int i = 0; i < series.length; i++) {
+            paths[i] = series[i].getPath();
+            for (int j = 0; j < _PointCount; j++) {
+                coordinates[i][j] = series[i].getSeries().get(j).getCoordinates();
+                assertNotNull(coordinates[i][j]);
+            }
+        }
+
+        for (int rebuild = 0; rebuild < REBUILDS; rebuild++) {
+            chart.onDataChanged();
+
+            for (int i = 0; i < series.length; i++) {
+                assertSame("Path of series " + i, paths[i], series[i].getPath());
+                for (int j = 0; j < _PointCount; j++) {
+                    assertSame("coordinates of point " + j, coordinates[i][j], series[i].getSeries().get(j).getCoordinates());
+                }
+            }
+        }
+    }
+
+    private static ValueLineSeries createSeries(int _PointCount, float _Factor) {
+        ValueLineSeries series = new ValueLineSeries();
+        for (int i = 0; i < _PointCount; i++) {
+            series.addPoint(new ValueLinePoint((float) Math.sin(i * 0.1) * _Factor));
+        }
+        return series;
+    }
+}
@@ -0,0 +1,172 @@
+package org.eazegraph.lib.models;
+
+import junit.framework.TestCase;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tests the ring buffer and the monotonic min/max queues of the {@link StreamingValueLineSeries}.
+ */
+public class StreamingValueLineSeriesTest extends TestCase {
+
+    public void testWindowWrapsAround() {
+        StreamingValueLineSeries series = new StreamingValueLineSeries(4);
+
+        for (int i = 1; i <= 10; i++) {
+            series.addValue(i);
+        }
+
+        assertEquals(4, series.getPointCount());
+        assertEquals(6, series.getFirstIndex());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(7.f + i, series.getValueAt(i));
+        }
+    }
+
+    public void testWindowFillsUpBeforeWrapping() {
+        StreamingValueLineSeries series = new StreamingValueLineSeries(4);
+
+        series.addValue(1.f);
+        series.addValue(2.f);
+
+        assertEquals(2, series.getPointCount());
+        assertEquals(0, series.getFirstIndex());
+        assertEquals(1.f, series.getValueAt(0));
+        assertEquals(2.f, series.getValueAt(1));
+    }
+
+    public void testMinMaxFollowEvictedExtremes() {
+        StreamingValueLineSeries series = new StreamingValueLineSeries(3);
+
+        // the maximum leaves the window first, then the minimum
+        series.addValue(10.f);
+        series.addValue(-5.f);
+        series.addValue(1.f);
+        assertEquals(-5.f, series.getMin());
+        assertEquals(10.f, series.getMax());
+
+        series.addValue(2.f);
+        assertEquals(-5.f, series.getMin());
+        assertEquals(2.f, series.getMax());
+
+        series.addValue(0.f);
+        assertEquals(0.f, series.getMin());
+        assertEquals(2.f, series.getMax());
+    }
+
+    public void testMinMaxOfMonotonicValues() {
+        StreamingValueLineSeries increasing = new StreamingValueLineSeries(5);
+        StreamingValueLineSeries decreasing = new StreamingValueLineSeries(5);
+
+        for (int i = 0; i < 20; i++) {
+            increasing.addValue(i);
+            decreasing.addValue(-i);
+
+            assertEquals((float) Math.max(0, i - 4), increasing.getMin());
+            assertEquals((float) i, increasing.getMax());
+            assertEquals((float) -i, decreasing.getMin());
+            assertEquals((float) -Math.max(0, i - 4), decreasing.getMax());
+        }
+    }
+
+    public void testMinMaxMatchLinearScan() {
+        Random random = new Random(42);
+
+        for (int capacity : new int[] { 2, 3, 7, 64 }) {
+            StreamingValueLineSeries series = new StreamingValueLineSeries(capacity);
+
+            for (int i = 0; i < capacity * 10; i++) {
+                // few distinct values, so equal values are evicted as well
+                series.addValue(random.nextInt(8));
+
+                float min = Float.MAX_VALUE;
+                float max = -Float.MAX_VALUE;
+                for (int j = 0; j < series.getPointCount(); j++) {
+                    min = Math.min(min, series.getValueAt(j));
+                    max = Math.max(max, series.getValueAt(j));
+                }
+
+                assertEquals("minimum with capacity " + capacity, min, series.getMin());
+                assertEquals("maximum with capacity " + capacity, max, series.getMax());
+            }
+        }
+    }
+
+    public void testShrinkingCapacityKeepsNewestValues() {
+        StreamingValueLineSeries series = new StreamingValueLineSeries(5);
+        for (int i = 1; i <= 7; i++) {
+            series.addValue(i);
+        }
+
+        series.setCapacity(3);
+
+        assertEquals(3, series.getCapacity());
+        assertEquals(3, series.getPointCount());
+        assertEquals(4, series.getFirstIndex());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(5.f + i, series.getValueAt(i));
+        }
+        assertEquals(5.f, series.getMin());
+        assertEquals(7.f, series.getMax());
+
+        series.addValue(1.f);
+        assertEquals(1.f, series.getMin());
+        assertEquals(7.f, series.getMax());
+    }
+
+    public void testGrowingCapacityKeepsAllValues() {
+        StreamingValueLineSeries series = new StreamingValueLineSeries(3);
+        for (int i = 1; i <= 4; i++) {
+            series.addValue(i);
+        }
+
+        series.setCapacity(5);
+        series.addValue(5.f);
+        series.addValue(6.f);
+
+        assertEquals(5, series.getPointCount());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(2.f + i, series.getValueAt(i));
+        }
+        assertEquals(2.f, series.getMin());
+        assertEquals(6.f, series.getMax());
+    }
+
+    public void testSeriesReturnsWindow() {
+        StreamingValueLineSeries series = new StreamingValueLineSeries(3);
+        series.setWidthOffset(10.f);
+        for (int i = 1; i <= 4; i++) {
+            series.addValue(i);
+        }
+        assertFalse(series.hasCoordinatesAt(0));
+
+        for (int i = 0; i < 3; i++) {
+            series.setCoordinatesAt(i, i * 10.f, 100.f - i);
+        }
+
+        List<ValueLinePoint> points = series.getSeries();
+        assertEquals(3, points.size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(2.f + i, points.get(i).getValue());
+            assertEquals(i * 10.f, series.getXAt(i));
+            assertEquals(100.f - i, series.getYAt(i));
+            assertEquals(100.f - i, points.get(i).getCoordinates().getY());
+        }
+
+        // the appended value has no coordinates until the chart calculated them
+        series.addValue(5.f);
+        assertTrue(series.hasCoordinatesAt(1));
+        assertFalse(series.hasCoordinatesAt(2));
+        assertNull(series.getSeries().get(2).getCoordinates());
+    }
+
+    public void testCapacityBelowTwoIsRejected() {
+        try {
+            new StreamingValueLineSeries(1);
+            fail("A streaming series needs at least two values");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+}
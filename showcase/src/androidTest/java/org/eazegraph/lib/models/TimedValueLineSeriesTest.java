@@ -0,0 +1,56 @@
+package org.eazegraph.lib.models;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests the timestamps of a {@link TimedValueLineSeries}.
+ */
+public class TimedValueLineSeriesTest extends TestCase {
+
+    public void testValuesWithoutTimestampFollowThePreviousValue() {
+        TimedValueLineSeries series = new TimedValueLineSeries();
+
+        series.addPoint(new ValueLinePoint(1.f));
+        series.addValue(100, 2.f);
+        series.addValue(3.f);
+        series.addValue("label", 4.f);
+
+        assertEquals(4, series.getPointCount());
+        assertEquals(0, series.getTimestampAt(0));
+        assertEquals(100, series.getTimestampAt(1));
+        assertEquals(101, series.getTimestampAt(2));
+        assertEquals(102, series.getTimestampAt(3));
+        assertEquals("label", series.getLegendLabelAt(3));
+    }
+
+    public void testSetSeriesReplacesTimestamps() {
+        TimedValueLineSeries series = new TimedValueLineSeries(new long[] { 10, 20 }, new float[] { 1.f, 2.f });
+
+        List<ValueLinePoint> points = new ArrayList<ValueLinePoint>();
+        for (int i = 0; i < 20; i++) {
+            points.add(new ValueLinePoint(i));
+        }
+        series.setSeries(points);
+
+        assertEquals(20, series.getPointCount());
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i, series.getTimestampAt(i));
+            assertEquals((float) i, series.getValueAt(i));
+        }
+    }
+
+    public void testDescendingTimestampIsRejected() {
+        TimedValueLineSeries series = new TimedValueLineSeries();
+        series.addValue(10, 1.f);
+
+        try {
+            series.addValue(5, 2.f);
+            fail("The timestamps have to be ascending");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+}
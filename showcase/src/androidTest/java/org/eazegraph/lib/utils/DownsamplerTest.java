@@ -0,0 +1,101 @@
+package org.eazegraph.lib.utils;
+
+import junit.framework.TestCase;
+
+import org.eazegraph.lib.models.ColumnarValueLineSeries;
+import org.eazegraph.lib.models.ValueLineSeries;
+
+import java.util.Random;
+
+/**
+ * Tests the indices which are chosen by the LTTB algorithm of the {@link Downsampler}.
+ */
+public class DownsamplerTest extends TestCase {
+
+    public void testKeepsFirstAndLastPoint() {
+        ValueLineSeries series  = createSeries(1000);
+        int[]           indices = new int[100];
+
+        int count = Downsampler.largestTriangleThreeBuckets(series, 0, 999, 100, indices);
+
+        assertEquals(0, indices[0]);
+        assertEquals(999, indices[count - 1]);
+    }
+
+    public void testReturnsThresholdCount() {
+        ValueLineSeries series = createSeries(1000);
+
+        for (int threshold : new int[] { 3, 4, 10, 99, 500, 999 }) {
+            int[] indices = new int[threshold];
+            int   count   = Downsampler.largestTriangleThreeBuckets(series, 0, 999, threshold, indices);
+
+            assertEquals("points for threshold " + threshold, threshold, count);
+        }
+    }
+
+    public void testIndicesAreAscending() {
+        ValueLineSeries series = createSeries(5000);
+
+        for (int threshold : new int[] { 3, 17, 250, 4999 }) {
+            int[] indices = new int[threshold];
+            int   count   = Downsampler.largestTriangleThreeBuckets(series, 0, 4999, threshold, indices);
+
+            for (int i = 1; i < count; i++) {
+                assertTrue("index " + i + " for threshold " + threshold, indices[i] > indices[i - 1]);
+            }
+        }
+    }
+
+    public void testSubRange() {
+        ValueLineSeries series  = createSeries(1000);
+        int[]           indices = new int[50];
+
+        int count = Downsampler.largestTriangleThreeBuckets(series, 200, 699, 50, indices);
+
+        assertEquals(50, count);
+        assertEquals(200, indices[0]);
+        assertEquals(699, indices[count - 1]);
+        for (int i = 1; i < count; i++) {
+            assertTrue(indices[i] > indices[i - 1]);
+        }
+    }
+
+    public void testShortInputPassesThrough() {
+        ValueLineSeries series = createSeries(20);
+
+        // a threshold which is not smaller than the range, or too small to keep anything
+        for (int threshold : new int[] { 2, 20, 50 }) {
+            int[] indices = new int[20];
+            int   count   = Downsampler.largestTriangleThreeBuckets(series, 0, 19, threshold, indices);
+
+            assertEquals("points for threshold " + threshold, 20, count);
+            for (int i = 0; i < count; i++) {
+                assertEquals(i, indices[i]);
+            }
+        }
+    }
+
+    public void testKeepsPeak() {
+        float[] values = new float[1000];
+        values[517] = 100.f;
+
+        int[] indices = new int[20];
+        int   count   = Downsampler.largestTriangleThreeBuckets(new ColumnarValueLineSeries(values), 0, 999, 20, indices);
+
+        boolean found = false;
+        for (int i = 0; i < count; i++) {
+            found |= indices[i] == 517;
+        }
+        assertTrue("The only peak has to be kept", found);
+    }
+
+    private static ValueLineSeries createSeries(int _Size) {
+        Random  random = new Random(_Size);
+        float[] values = new float[_Size];
+
+        for (int i = 0; i < _Size; i++) {
+            values[i] = (float) Math.sin(i / 10.0) * 50.f + random.nextFloat() * 10.f;
+        }
+        return new ColumnarValueLineSeries(values);
+    }
+}
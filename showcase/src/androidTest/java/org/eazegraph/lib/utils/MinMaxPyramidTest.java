@@ -0,0 +1,105 @@
+package org.eazegraph.lib.utils;
+
+import junit.framework.TestCase;
+
+import org.eazegraph.lib.models.ColumnarValueLineSeries;
+import org.eazegraph.lib.models.ValueLineSeries;
+
+import java.util.Random;
+
+/**
+ * Compares the range queries of the {@link MinMaxPyramid} with a linear scan over the series.
+ */
+public class MinMaxPyramidTest extends TestCase {
+
+    private static final int[] SIZES = { 1, 2, 3, 4, 5, 7, 8, 31, 100, 257, 1000, 1023, 1024, 4097 };
+
+    public void testSingleValueRanges() {
+        for (int size : SIZES) {
+            ValueLineSeries series  = createSeries(size, size);
+            MinMaxPyramid   pyramid = build(series);
+
+            for (int i = 0; i < size; i++) {
+                assertRange(series, pyramid, i, i);
+            }
+        }
+    }
+
+    public void testWholeSeries() {
+        for (int size : SIZES) {
+            ValueLineSeries series  = createSeries(size, size);
+            MinMaxPyramid   pyramid = build(series);
+
+            assertRange(series, pyramid, 0, size - 1);
+        }
+    }
+
+    public void testRandomRanges() {
+        Random random = new Random(7);
+
+        for (int size : SIZES) {
+            ValueLineSeries series  = createSeries(size, size + 1);
+            MinMaxPyramid   pyramid = build(series);
+
+            for (int i = 0; i < 500; i++) {
+                int a = random.nextInt(size);
+                int b = random.nextInt(size);
+                assertRange(series, pyramid, Math.min(a, b), Math.max(a, b));
+            }
+        }
+    }
+
+    public void testRangesAtTheEnds() {
+        for (int size : SIZES) {
+            ValueLineSeries series  = createSeries(size, size + 2);
+            MinMaxPyramid   pyramid = build(series);
+
+            for (int i = 0; i < size; i++) {
+                assertRange(series, pyramid, 0, i);
+                assertRange(series, pyramid, i, size - 1);
+            }
+        }
+    }
+
+    public void testRebuildWithSmallerSeries() {
+        MinMaxPyramid   pyramid = build(createSeries(1000, 3));
+        ValueLineSeries series  = createSeries(9, 4);
+
+        pyramid.build(series);
+        assertRange(series, pyramid, 0, 8);
+        assertRange(series, pyramid, 3, 6);
+    }
+
+    private static MinMaxPyramid build(ValueLineSeries _Series) {
+        MinMaxPyramid pyramid = new MinMaxPyramid();
+        pyramid.build(_Series);
+        return pyramid;
+    }
+
+    private static void assertRange(ValueLineSeries _Series, MinMaxPyramid _Pyramid, int _From, int _To) {
+        float   min    = Float.MAX_VALUE;
+        float   max    = -Float.MAX_VALUE;
+        float[] result = new float[2];
+
+        for (int i = _From; i <= _To; i++) {
+            min = Math.min(min, _Series.getValueAt(i));
+            max = Math.max(max, _Series.getValueAt(i));
+        }
+
+        _Pyramid.queryRange(_Series, _From, _To, result);
+
+        String range = "[" + _From + ", " + _To + "] of " + _Series.getPointCount() + " points";
+        assertEquals("minimum of " + range, min, result[0]);
+        assertEquals("maximum of " + range, max, result[1]);
+    }
+
+    private static ValueLineSeries createSeries(int _Size, long _Seed) {
+        Random  random = new Random(_Seed);
+        float[] values = new float[_Size];
+
+        for (int i = 0; i < _Size; i++) {
+            values[i] = random.nextFloat() * 200.f - 100.f;
+        }
+        return new ColumnarValueLineSeries(values);
+    }
+}